@@ -0,0 +1,41 @@
+package com.cognizant.service.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Publishes the Caffeine caches of this package. The caches register here
+ * instead of being MeterBinders themselves: the beans holding them depend on
+ * Feign clients, whose metrics capability needs the MeterRegistry that binds
+ * the MeterBinders, so that would be a bean cycle.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+	private final Map<String, Cache<?, ?>> caches = new ConcurrentHashMap<>();
+
+	private volatile MeterRegistry registry;
+
+	public void monitor(String name, Cache<?, ?> cache) {
+		caches.put(name, cache);
+		MeterRegistry meterRegistry = registry;
+		if (meterRegistry != null) {
+			CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.registry = registry;
+		caches.forEach((name, cache) -> CaffeineCacheMetrics.monitor(registry, cache, name));
+	}
+
+}
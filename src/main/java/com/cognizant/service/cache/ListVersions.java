@@ -0,0 +1,99 @@
+package com.cognizant.service.cache;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cognizant.service.model.ServiceRequest;
+
+/**
+ * Version counters per user and per product, bumped after every committed
+ * write of a service request or its report. They back the ETags of the list
+ * endpoints, so an unchanged list is recognised without querying it. Counters
+ * start over on restart, the tags carry the start time so old ones never match.
+ * Like the in-memory database they are per instance.
+ */
+@Component
+public class ListVersions {
+
+	private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+	private final Map<Long, AtomicLong> users = new ConcurrentHashMap<>();
+
+	private final Map<Long, AtomicLong> products = new ConcurrentHashMap<>();
+
+	public void requestChanged(long userId, long productId) {
+		afterCommit(() -> {
+			bump(users, userId);
+			bump(products, productId);
+		});
+	}
+
+	public void requestsChanged(Collection<ServiceRequest> requests) {
+		List<ServiceRequest> changed = new ArrayList<>(requests);
+		afterCommit(() -> changed.forEach(request -> {
+			bump(users, request.getUserId());
+			bump(products, request.getProductId());
+		}));
+	}
+
+	public String userTag(long userId) {
+		return "u" + userId + "-" + epoch + "-" + version(users, userId);
+	}
+
+	/**
+	 * Versions only grow, so their sum over a fixed set of products changes on
+	 * every write; the digest of the sorted ids covers the set itself changing.
+	 */
+	public String productsTag(OwnedProducts owned) {
+		long sum = owned.stream().map(id -> version(products, id)).sum();
+		return "p" + hash(owned) + "-" + epoch + "-" + sum;
+	}
+
+	// Bumped only once the write is visible, so a tag is never newer than the data read after it
+	private static void afterCommit(Runnable bump) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			bump.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+			@Override
+			public void afterCommit() {
+				bump.run();
+			}
+		});
+	}
+
+	private static String hash(OwnedProducts owned) {
+		ByteBuffer ids = ByteBuffer.allocate(owned.size() * Long.BYTES);
+		owned.stream().forEach(ids::putLong);
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(ids.array());
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private static void bump(Map<Long, AtomicLong> versions, long id) {
+		versions.computeIfAbsent(id, key -> new AtomicLong()).incrementAndGet();
+	}
+
+	private static long version(Map<Long, AtomicLong> versions, long id) {
+		AtomicLong version = versions.get(id);
+		return version == null ? 0 : version.get();
+	}
+
+}
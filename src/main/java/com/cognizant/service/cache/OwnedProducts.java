@@ -0,0 +1,40 @@
+package com.cognizant.service.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Immutable set of product ids owned by one user, held as a sorted primitive
+ * array so membership checks neither box nor allocate.
+ */
+public final class OwnedProducts {
+
+	private final long[] ids;
+
+	public OwnedProducts(long[] productIds) {
+		this.ids = Arrays.stream(productIds).sorted().distinct().toArray();
+	}
+
+	public boolean contains(long productId) {
+		return Arrays.binarySearch(ids, productId) >= 0;
+	}
+
+	public boolean isEmpty() {
+		return ids.length == 0;
+	}
+
+	public int size() {
+		return ids.length;
+	}
+
+	public LongStream stream() {
+		return Arrays.stream(ids);
+	}
+
+	public List<Long> asList() {
+		return stream().boxed().collect(Collectors.toList());
+	}
+
+}
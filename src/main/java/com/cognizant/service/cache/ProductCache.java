@@ -0,0 +1,156 @@
+package com.cognizant.service.cache;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cognizant.service.client.ProductClient;
+import com.cognizant.service.client.RemoteCallGuard;
+import com.cognizant.service.dto.AppProduct;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Caches the answers of product-microservice that are read on almost every
+ * request: the ids of the products a user owns (keyed by the user's email) and
+ * whether a product id exists. Only positive existence checks are cached.
+ * While product-microservice is unavailable, an expired owner list is served
+ * and a product seen recently is assumed to still exist.
+ */
+@Component
+public class ProductCache {
+
+	@Autowired
+	ProductClient productClient;
+
+	@Autowired
+	TokenValidationCache tokenCache;
+
+	@Autowired
+	RemoteCallGuard guard;
+
+	@Autowired
+	CacheMetrics cacheMetrics;
+
+	@Value("${service.cache.product-owner.max-size:10000}")
+	long ownerMaxSize;
+
+	@Value("${service.cache.product-owner.ttl-seconds:60}")
+	long ownerTtlSeconds;
+
+	@Value("${service.cache.product-owner.stale-seconds:1800}")
+	long ownerStaleSeconds;
+
+	@Value("${service.cache.product-exists.max-size:50000}")
+	long existsMaxSize;
+
+	@Value("${service.cache.product-exists.ttl-seconds:600}")
+	long existsTtlSeconds;
+
+	@Value("${service.cache.product-exists.stale-seconds:86400}")
+	long existsStaleSeconds;
+
+	private Cache<String, OwnedProducts> owners;
+
+	private Cache<String, OwnedProducts> staleOwners;
+
+	private Cache<Long, Boolean> existing;
+
+	private Cache<Long, Boolean> staleExisting;
+
+	@PostConstruct
+	void init() {
+		owners = Caffeine.newBuilder().maximumSize(ownerMaxSize).expireAfterWrite(ownerTtlSeconds, TimeUnit.SECONDS)
+				.recordStats().build();
+		staleOwners = Caffeine.newBuilder().maximumSize(ownerMaxSize)
+				.expireAfterWrite(ownerStaleSeconds, TimeUnit.SECONDS).build();
+		existing = Caffeine.newBuilder().maximumSize(existsMaxSize)
+				.expireAfterWrite(existsTtlSeconds, TimeUnit.SECONDS).recordStats().build();
+		staleExisting = Caffeine.newBuilder().maximumSize(existsMaxSize)
+				.expireAfterWrite(existsStaleSeconds, TimeUnit.SECONDS).build();
+		cacheMetrics.monitor("product-owner", owners);
+		cacheMetrics.monitor("product-exists", existing);
+	}
+
+	/**
+	 * Returns the products owned by the caller, or null when product-microservice
+	 * returned no product list at all.
+	 */
+	public OwnedProducts ownedProducts(String token) {
+		String owner = tokenCache.validatingToken(token).getEmail();
+		OwnedProducts cached = owners.getIfPresent(owner);
+		if (cached != null) {
+			return cached;
+		}
+		List<AppProduct> appProduct;
+		try {
+			appProduct = productClient.getMyProducts(token).getPayload();
+		} catch (RuntimeException e) {
+			OwnedProducts stale = RemoteCallGuard.isUnavailable(e) ? staleOwners.getIfPresent(owner) : null;
+			if (stale == null) {
+				throw e;
+			}
+			guard.staleServed(RemoteCallGuard.PRODUCT);
+			return stale;
+		}
+		if (appProduct == null) {
+			return null;
+		}
+		OwnedProducts products = new OwnedProducts(appProduct.stream().mapToLong(AppProduct::getId).toArray());
+		owners.put(owner, products);
+		staleOwners.put(owner, products);
+		return products;
+	}
+
+	public boolean productExists(String token, long productId) {
+		if (existing.getIfPresent(productId) != null) {
+			return true;
+		}
+		try {
+			if (productClient.getProductById(token, productId).getStatus() == 200) {
+				existing.put(productId, Boolean.TRUE);
+				staleExisting.put(productId, Boolean.TRUE);
+				return true;
+			}
+			return false;
+		} catch (RuntimeException e) {
+			if (RemoteCallGuard.isUnavailable(e) && staleExisting.getIfPresent(productId) != null) {
+				guard.staleServed(RemoteCallGuard.PRODUCT);
+				return true;
+			}
+			throw e;
+		}
+	}
+
+	public void invalidateOwner(String email) {
+		owners.invalidate(email);
+		staleOwners.invalidate(email);
+	}
+
+	public void invalidateProduct(long productId) {
+		existing.invalidate(productId);
+		staleExisting.invalidate(productId);
+	}
+
+	public void invalidateAll() {
+		owners.invalidateAll();
+		staleOwners.invalidateAll();
+		existing.invalidateAll();
+		staleExisting.invalidateAll();
+	}
+
+	public CacheStats ownerStats() {
+		return owners.stats();
+	}
+
+	public CacheStats existsStats() {
+		return existing.stats();
+	}
+
+}
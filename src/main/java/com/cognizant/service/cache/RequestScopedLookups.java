@@ -0,0 +1,81 @@
+package com.cognizant.service.cache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.cognizant.service.dto.Users;
+import com.cognizant.service.dto.ValidatingDTO;
+
+/**
+ * Memoizes lookups for the lifetime of the current HTTP request, so a service
+ * method that calls another (createNewReqReport calling getMyProductRequests
+ * twice, getReportByRequestId going through getAllReport) reuses the first
+ * answer. The memo lives in the request attributes; on threads without a bound
+ * request every call goes straight through. Calls submitted to
+ * RemoteCallExecutor carry the request attributes, so the memo is shared with
+ * them and a lookup racing another may run twice.
+ */
+@Component
+public class RequestScopedLookups {
+
+	private static final String MEMO_ATTRIBUTE = RequestScopedLookups.class.getName() + ".memo";
+
+	@Autowired
+	TokenValidationCache tokenCache;
+
+	@Autowired
+	ProductCache productCache;
+
+	@Autowired
+	UserDetailsCache userCache;
+
+	public ValidatingDTO validatingToken(String token) {
+		return memoize("validate:" + token, () -> tokenCache.validatingToken(token));
+	}
+
+	public Users currentUser(String token) {
+		return memoize("user:" + token, () -> userCache.currentUser(token));
+	}
+
+	public OwnedProducts ownedProducts(String token) {
+		return memoize("products:" + token, () -> productCache.ownedProducts(token));
+	}
+
+	public boolean productExists(String token, long productId) {
+		return memoize("exists:" + productId + ":" + token, () -> productCache.productExists(token, productId));
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T memoize(String key, Supplier<T> lookup) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return lookup.get();
+		}
+		Map<String, Object> memo = (Map<String, Object>) attributes.getAttribute(MEMO_ATTRIBUTE,
+				RequestAttributes.SCOPE_REQUEST);
+		if (memo == null) {
+			synchronized (this) {
+				memo = (Map<String, Object>) attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+				if (memo == null) {
+					memo = Collections.synchronizedMap(new HashMap<>());
+					attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+				}
+			}
+		}
+		// Not computeIfAbsent: a lookup may memoize nested lookups into the same map
+		if (memo.containsKey(key)) {
+			return (T) memo.get(key);
+		}
+		T value = lookup.get();
+		memo.put(key, value);
+		return value;
+	}
+
+}
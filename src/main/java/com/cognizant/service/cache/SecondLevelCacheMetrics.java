@@ -0,0 +1,52 @@
+package com.cognizant.service.cache;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Hit ratio of each Hibernate second-level cache region and of the query
+ * cache. The raw hit, miss and put counts are published by Spring Boot's
+ * Hibernate metrics; this adds the ratio so it can be read off directly.
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		for (String region : statistics.getSecondLevelCacheRegionNames()) {
+			Gauge.builder("service.cache.l2.hit.ratio", statistics, stats -> hitRatio(stats, region))
+					.description("Share of second-level cache lookups answered from the cache").tag("region", region)
+					.register(registry);
+		}
+		Gauge.builder("service.cache.query.hit.ratio", statistics,
+				stats -> ratio(stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount()))
+				.description("Share of cacheable queries answered from the query cache").register(registry);
+	}
+
+	private static double hitRatio(Statistics statistics, String region) {
+		CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+		if (regionStatistics == null) {
+			return Double.NaN;
+		}
+		return ratio(regionStatistics.getHitCount(), regionStatistics.getMissCount());
+	}
+
+	private static double ratio(long hits, long misses) {
+		long total = hits + misses;
+		return total == 0 ? Double.NaN : (double) hits / total;
+	}
+
+}
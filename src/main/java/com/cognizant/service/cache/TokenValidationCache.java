@@ -0,0 +1,141 @@
+package com.cognizant.service.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cognizant.service.client.AuthClient;
+import com.cognizant.service.dto.ValidatingDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Bounded cache of successful token validations, keyed by a SHA-256 hash of the
+ * token so raw JWTs are never held as map keys. An entry lives for the
+ * configured ttl but never past the {@code exp} claim of the token itself.
+ */
+@Component
+public class TokenValidationCache {
+
+	private static final String BEARER = "Bearer ";
+
+	@Autowired
+	AuthClient authClient;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	CacheMetrics cacheMetrics;
+
+	@Value("${service.cache.token.max-size:10000}")
+	long maxSize;
+
+	@Value("${service.cache.token.ttl-seconds:300}")
+	long ttlSeconds;
+
+	private Cache<String, CachedValidation> cache;
+
+	@PostConstruct
+	void init() {
+		cache = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new Expiry<String, CachedValidation>() {
+
+			@Override
+			public long expireAfterCreate(String key, CachedValidation value, long currentTime) {
+				return value.ttlNanos;
+			}
+
+			@Override
+			public long expireAfterUpdate(String key, CachedValidation value, long currentTime,
+					long currentDuration) {
+				return value.ttlNanos;
+			}
+
+			@Override
+			public long expireAfterRead(String key, CachedValidation value, long currentTime,
+					long currentDuration) {
+				return currentDuration;
+			}
+		}).recordStats().build();
+		cacheMetrics.monitor("token-validation", cache);
+	}
+
+	public ValidatingDTO validatingToken(String token) {
+		String key = hash(token);
+		CachedValidation cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return cached.validation;
+		}
+		ValidatingDTO validation = authClient.validatingToken(token);
+		long ttl = Math.min(ttlSeconds, secondsUntilExpiry(token));
+		// Only positive answers are cached so a rejected token is re-checked every time
+		if (validation != null && validation.isValidStatus() && ttl > 0) {
+			cache.put(key, new CachedValidation(validation, TimeUnit.SECONDS.toNanos(ttl)));
+		}
+		return validation;
+	}
+
+	public void invalidate(String token) {
+		cache.invalidate(hash(token));
+	}
+
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	public long size() {
+		return cache.estimatedSize();
+	}
+
+	private long secondsUntilExpiry(String token) {
+		String jwt = token.startsWith(BEARER) ? token.substring(BEARER.length()) : token;
+		String[] parts = jwt.split("\\.");
+		if (parts.length < 2) {
+			return ttlSeconds;
+		}
+		try {
+			JsonNode exp = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+			if (exp != null && exp.canConvertToLong()) {
+				return exp.asLong() - Instant.now().getEpochSecond();
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			// Not a readable JWT, fall back to the configured ttl
+		}
+		return ttlSeconds;
+	}
+
+	private static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private static final class CachedValidation {
+
+		private final ValidatingDTO validation;
+		private final long ttlNanos;
+
+		private CachedValidation(ValidatingDTO validation, long ttlNanos) {
+			this.validation = validation;
+			this.ttlNanos = ttlNanos;
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.cognizant.service.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cognizant.service.client.RemoteCallGuard;
+import com.cognizant.service.client.UserClient;
+import com.cognizant.service.dto.Users;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Fronts the /me call of user-microservice. Every lookup still goes to the
+ * service, but the last answer per user (keyed by email) is kept and served
+ * while user-microservice is unavailable.
+ */
+@Component
+public class UserDetailsCache {
+
+	@Autowired
+	UserClient userClient;
+
+	@Autowired
+	TokenValidationCache tokenCache;
+
+	@Autowired
+	RemoteCallGuard guard;
+
+	@Autowired
+	CacheMetrics cacheMetrics;
+
+	@Value("${service.cache.user.max-size:10000}")
+	long maxSize;
+
+	@Value("${service.cache.user.stale-seconds:1800}")
+	long staleSeconds;
+
+	private Cache<String, Users> recent;
+
+	@PostConstruct
+	void init() {
+		recent = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(staleSeconds, TimeUnit.SECONDS)
+				.recordStats().build();
+		cacheMetrics.monitor("user-details", recent);
+	}
+
+	public Users currentUser(String token) {
+		String email = tokenCache.validatingToken(token).getEmail();
+		try {
+			Users users = userClient.getCurrentUserDetails(token).getPayload();
+			if (users != null) {
+				recent.put(email, users);
+			}
+			return users;
+		} catch (RuntimeException e) {
+			Users stale = RemoteCallGuard.isUnavailable(e) ? recent.getIfPresent(email) : null;
+			if (stale == null) {
+				throw e;
+			}
+			guard.staleServed(RemoteCallGuard.USER);
+			return stale;
+		}
+	}
+
+	public void invalidate(String email) {
+		recent.invalidate(email);
+	}
+
+}
@@ -6,7 +6,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 
 import com.cognizant.service.dto.ValidatingDTO;
 
-@FeignClient(name = "auth-microservice", url = "http://localhost:8001")
+@FeignClient(name = "auth-microservice", url = "${service.clients.auth.url:http://localhost:8001}")
 public interface AuthClient {
 
 	@GetMapping("/validate")
@@ -0,0 +1,67 @@
+package com.cognizant.service.client;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Publishes the usage of the pooled connection manager behind the Feign clients
+ * and closes connections that sat idle longer than the configured time, before
+ * the other side drops them. Does nothing when feign.httpclient.enabled is
+ * false and the clients use plain HttpURLConnections.
+ */
+@Component
+public class ConnectionPoolMonitor implements MeterBinder {
+
+	@Autowired
+	ObjectProvider<HttpClientConnectionManager> connectionManager;
+
+	@Value("${service.http-pool.idle-eviction-seconds:30}")
+	long idleEvictionSeconds;
+
+	private PoolingHttpClientConnectionManager pool;
+
+	private ScheduledExecutorService evictor;
+
+	@PostConstruct
+	void init() {
+		HttpClientConnectionManager manager = connectionManager.getIfAvailable();
+		if (!(manager instanceof PoolingHttpClientConnectionManager)) {
+			return;
+		}
+		pool = (PoolingHttpClientConnectionManager) manager;
+		evictor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("http-pool-evictor-"));
+		evictor.scheduleWithFixedDelay(() -> pool.closeIdleConnections(idleEvictionSeconds, TimeUnit.SECONDS),
+				idleEvictionSeconds, idleEvictionSeconds, TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		if (evictor != null) {
+			evictor.shutdownNow();
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		if (pool != null) {
+			new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+		}
+	}
+
+}
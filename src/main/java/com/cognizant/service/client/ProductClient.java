@@ -1,20 +1,23 @@
 package com.cognizant.service.client;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 
-import com.cognizant.service.model.Message;
+import com.cognizant.service.dto.AppProduct;
+import com.cognizant.service.dto.ClientResponse;
 
-@FeignClient(name = "product-microservice", url = "http://localhost:8003/product")
+@FeignClient(name = "product-microservice", url = "${service.clients.product.url:http://localhost:8003/product}")
 public interface ProductClient {
 
 	@GetMapping("/{id}")
-	Message getProductById(@RequestHeader(name = "Authorization") String token, @PathVariable Long id);
+	ClientResponse<AppProduct> getProductById(@RequestHeader(name = "Authorization") String token, @PathVariable Long id);
 	
 	@GetMapping("/my-products")
-	Message getMyProducts(@RequestHeader(name = "Authorization")String token);
+	ClientResponse<List<AppProduct>> getMyProducts(@RequestHeader(name = "Authorization")String token);
 	
 
 }
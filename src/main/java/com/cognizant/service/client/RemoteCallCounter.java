@@ -0,0 +1,98 @@
+package com.cognizant.service.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.ServletRequestEvent;
+import javax.servlet.ServletRequestListener;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Counts every outgoing Feign call, in total per client and for the HTTP request
+ * that is being served when the call is made on the request thread or on a
+ * RemoteCallExecutor task submitted from it. When a request completes its count
+ * is recorded in service.remote.calls.per.request, zero included. Calls made
+ * with no request bound are in the totals only.
+ */
+@Component
+public class RemoteCallCounter implements RequestInterceptor, MeterBinder, ServletRequestListener {
+
+	private static final String REQUEST_COUNT_ATTRIBUTE = RemoteCallCounter.class.getName() + ".count";
+
+	private final Map<String, LongAdder> totals = new ConcurrentHashMap<>();
+
+	private volatile MeterRegistry registry;
+
+	private volatile DistributionSummary perRequest;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.registry = registry;
+		totals.forEach((client, total) -> register(registry, client, total));
+		perRequest = DistributionSummary.builder("service.remote.calls.per.request")
+				.description("Calls made to other microservices while serving one HTTP request")
+				.publishPercentileHistogram().register(registry);
+	}
+
+	// Request scoped attributes of RequestContextHolder are attributes of the servlet request itself
+	@Override
+	public void requestDestroyed(ServletRequestEvent event) {
+		DistributionSummary summary = perRequest;
+		if (summary != null) {
+			AtomicInteger count = (AtomicInteger) event.getServletRequest().getAttribute(REQUEST_COUNT_ATTRIBUTE);
+			summary.record(count == null ? 0 : count.get());
+		}
+	}
+
+	@Override
+	public void apply(RequestTemplate template) {
+		totals.computeIfAbsent(template.feignTarget().name(), this::newTotal).increment();
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes != null) {
+			AtomicInteger count = (AtomicInteger) attributes.getAttribute(REQUEST_COUNT_ATTRIBUTE,
+					RequestAttributes.SCOPE_REQUEST);
+			if (count == null) {
+				count = newRequestCount(attributes);
+			}
+			count.incrementAndGet();
+		}
+	}
+
+	// Tasks of RemoteCallExecutor share the request, so the first two calls may race here
+	private synchronized AtomicInteger newRequestCount(RequestAttributes attributes) {
+		AtomicInteger count = (AtomicInteger) attributes.getAttribute(REQUEST_COUNT_ATTRIBUTE,
+				RequestAttributes.SCOPE_REQUEST);
+		if (count == null) {
+			count = new AtomicInteger();
+			attributes.setAttribute(REQUEST_COUNT_ATTRIBUTE, count, RequestAttributes.SCOPE_REQUEST);
+		}
+		return count;
+	}
+
+	private LongAdder newTotal(String client) {
+		LongAdder total = new LongAdder();
+		MeterRegistry meterRegistry = registry;
+		if (meterRegistry != null) {
+			register(meterRegistry, client, total);
+		}
+		return total;
+	}
+
+	private static void register(MeterRegistry registry, String client, LongAdder total) {
+		FunctionCounter.builder("service.remote.calls", total, LongAdder::sum)
+				.description("Calls made to other microservices").tag("client", client).register(registry);
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.cognizant.service.client;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.cognizant.service.exception.ServiceUnavailableException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs independent blocking calls concurrently, off the JVM-wide common
+ * ForkJoinPool. In {@code bounded} mode (the default) calls go to a dedicated
+ * fixed pool, and when its queue is full the caller runs the call itself, which
+ * degrades to sequential behaviour instead of failing. In {@code virtual} mode
+ * every call gets its own virtual thread; that needs JDK 21+, older JDKs fall
+ * back to the bounded pool. A call runs with the request attributes of the
+ * thread that submitted it, so request scoped memoization and call counting
+ * see it as part of that request.
+ */
+@Component
+@Slf4j
+public class RemoteCallExecutor {
+
+	public static final String MODE_BOUNDED = "bounded";
+	public static final String MODE_VIRTUAL = "virtual";
+
+	@Value("${service.remote.mode:bounded}")
+	String mode;
+
+	@Value("${service.remote.pool-size:16}")
+	int poolSize;
+
+	@Value("${service.remote.queue-capacity:200}")
+	int queueCapacity;
+
+	private ExecutorService executor;
+
+	@PostConstruct
+	void init() {
+		if (MODE_VIRTUAL.equalsIgnoreCase(mode)) {
+			executor = virtualThreadExecutor();
+			if (executor != null) {
+				return;
+			}
+			log.warn("Virtual threads are not available on Java {}, using the bounded pool",
+					System.getProperty("java.version"));
+		}
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("remote-call-"),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		pool.allowCoreThreadTimeOut(true);
+		executor = pool;
+	}
+
+	// Looked up reflectively so the service still builds and runs on Java 11
+	private static ExecutorService virtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	public <T> CompletableFuture<T> submit(Supplier<T> call) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		return CompletableFuture.supplyAsync(() -> callWith(attributes, call), executor);
+	}
+
+	// The caller-runs policy may run the call on the submitting thread, so restore what was bound before
+	private static <T> T callWith(RequestAttributes attributes, Supplier<T> call) {
+		RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+		RequestContextHolder.setRequestAttributes(attributes);
+		try {
+			return call.get();
+		} finally {
+			RequestContextHolder.setRequestAttributes(previous);
+		}
+	}
+
+	/**
+	 * Waits for a submitted call. Runtime exceptions of the call, such as a
+	 * FeignClientException, are rethrown as they are so callers handle them the
+	 * same way as a direct call.
+	 */
+	public <T> T await(CompletableFuture<T> call, long timeoutMs, String dependency)
+			throws ServiceUnavailableException {
+		try {
+			return call.get(timeoutMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			call.cancel(true);
+			throw new ServiceUnavailableException(dependency + " did not respond within " + timeoutMs + "ms");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new ServiceUnavailableException(dependency + " call failed");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException("Interrupted while waiting for " + dependency);
+		}
+	}
+
+}
@@ -0,0 +1,174 @@
+package com.cognizant.service.client;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import feign.Capability;
+import feign.Client;
+import feign.FeignException.FeignServerException;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Puts every Feign call behind a semaphore bulkhead and a circuit breaker of its
+ * client, so a slow microservice holds at most {@code max-concurrent} request
+ * threads and one that keeps failing is short-circuited. Connection errors,
+ * read timeouts and 5xx answers count as failures, 4xx answers do not.
+ * Settings are read from {@code service.resilience.<client>.*}, falling back to
+ * {@code service.resilience.*}.
+ */
+@Component
+public class RemoteCallGuard implements Capability, MeterBinder {
+
+	public static final String AUTH = "auth-microservice";
+	public static final String USER = "user-microservice";
+	public static final String PRODUCT = "product-microservice";
+
+	private static final String PREFIX = "service.resilience.";
+
+	@Autowired
+	Environment environment;
+
+	private final CircuitBreakerRegistry breakers = CircuitBreakerRegistry.ofDefaults();
+
+	private final BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+
+	private final Map<String, LongAdder> staleAnswers = new ConcurrentHashMap<>();
+
+	private volatile MeterRegistry registry;
+
+	@PostConstruct
+	void init() {
+		// Created up front so their metrics are published before the first call
+		for (String client : new String[] { AUTH, USER, PRODUCT }) {
+			breaker(client);
+			bulkhead(client);
+		}
+	}
+
+	/**
+	 * True when the call failed because the microservice is unavailable rather
+	 * than because the request was wrong; only then may a stale answer be served.
+	 */
+	public static boolean isUnavailable(RuntimeException e) {
+		return e instanceof CallNotPermittedException || e instanceof BulkheadFullException
+				|| e instanceof RetryableException || e instanceof FeignServerException;
+	}
+
+	public void staleServed(String client) {
+		staleAnswers.computeIfAbsent(client, this::newStaleCounter).increment();
+	}
+
+	public CircuitBreaker breaker(String client) {
+		return breakers.circuitBreaker(client, () -> CircuitBreakerConfig.custom()
+				.slidingWindowSize(setting(client, "sliding-window-size", Integer.class, 50))
+				.minimumNumberOfCalls(setting(client, "minimum-calls", Integer.class, 20))
+				.failureRateThreshold(setting(client, "failure-rate-threshold", Float.class, 50f))
+				.slowCallDurationThreshold(
+						Duration.ofMillis(setting(client, "slow-call-threshold-ms", Long.class, 2000L)))
+				.slowCallRateThreshold(setting(client, "slow-call-rate-threshold", Float.class, 80f))
+				.waitDurationInOpenState(Duration.ofSeconds(setting(client, "open-seconds", Long.class, 10L)))
+				.permittedNumberOfCallsInHalfOpenState(setting(client, "half-open-calls", Integer.class, 5))
+				.build());
+	}
+
+	public Bulkhead bulkhead(String client) {
+		return bulkheads.bulkhead(client, () -> BulkheadConfig.custom()
+				.maxConcurrentCalls(setting(client, "max-concurrent", Integer.class, 32))
+				.maxWaitDuration(Duration.ofMillis(setting(client, "max-wait-ms", Long.class, 0L))).build());
+	}
+
+	@Override
+	public Client enrich(Client client) {
+		return (request, options) -> execute(client, request, options);
+	}
+
+	private Response execute(Client client, Request request, Request.Options options) throws IOException {
+		String name = request.requestTemplate().feignTarget().name();
+		Bulkhead bulkhead = bulkhead(name);
+		CircuitBreaker breaker = breaker(name);
+		bulkhead.acquirePermission();
+		try {
+			breaker.acquirePermission();
+			long start = System.nanoTime();
+			try {
+				Response response = client.execute(request, options);
+				long duration = System.nanoTime() - start;
+				if (response.status() >= 500) {
+					breaker.onError(duration, TimeUnit.NANOSECONDS, new ServerErrorStatus(name, response.status()));
+				} else {
+					breaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+				}
+				return response;
+			} catch (IOException | RuntimeException e) {
+				breaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+				throw e;
+			}
+		} finally {
+			bulkhead.onComplete();
+		}
+	}
+
+	private <T> T setting(String client, String key, Class<T> type, T defaultValue) {
+		T shared = environment.getProperty(PREFIX + key, type, defaultValue);
+		return environment.getProperty(PREFIX + client + "." + key, type, shared);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.registry = registry;
+		TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(breakers).bindTo(registry);
+		TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(registry);
+		staleAnswers.forEach((client, count) -> register(registry, client, count));
+	}
+
+	private LongAdder newStaleCounter(String client) {
+		LongAdder count = new LongAdder();
+		MeterRegistry meterRegistry = registry;
+		if (meterRegistry != null) {
+			register(meterRegistry, client, count);
+		}
+		return count;
+	}
+
+	private static void register(MeterRegistry registry, String client, LongAdder count) {
+		FunctionCounter.builder("service.remote.stale", count, LongAdder::sum)
+				.description("Answers served from a stale cache entry instead of a fresh call").tag("client", client)
+				.register(registry);
+	}
+
+	// Recorded by the breaker for 5xx answers, which Feign only turns into exceptions after decoding
+	private static final class ServerErrorStatus extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private ServerErrorStatus(String client, int status) {
+			super(client + " answered " + status, null, false, false);
+		}
+	}
+
+}
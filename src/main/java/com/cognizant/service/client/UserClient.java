@@ -4,12 +4,13 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 
-import com.cognizant.service.model.Message;
+import com.cognizant.service.dto.ClientResponse;
+import com.cognizant.service.dto.Users;
 
-@FeignClient(name = "user-microservice", url="http://localhost:8002/user")
+@FeignClient(name = "user-microservice", url = "${service.clients.user.url:http://localhost:8002/user}")
 public interface UserClient {
 
 	@GetMapping("/me")
-	Message getCurrentUserDetails(@RequestHeader(name = "Authorization")String token);
+	ClientResponse<Users> getCurrentUserDetails(@RequestHeader(name = "Authorization")String token);
 	
 }
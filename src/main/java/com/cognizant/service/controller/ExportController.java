@@ -0,0 +1,78 @@
+package com.cognizant.service.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.cognizant.service.exception.InvalidDataAccessException;
+import com.cognizant.service.model.ExportFormat;
+import com.cognizant.service.model.Message;
+import com.cognizant.service.service.ExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import feign.FeignException.FeignClientException;
+
+@RestController
+@RequestMapping("/servicereq/export")
+@CrossOrigin(origins = "http://localhost:5000")
+public class ExportController {
+
+	@Autowired
+	ExportService exportService;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@GetMapping("/requests")
+	public ResponseEntity<StreamingResponseBody> exportRequests(@RequestHeader(name = "Authorization") String token,
+			@RequestParam(defaultValue = "ndjson") String format) {
+		return export(token, format, "service-requests", false);
+	}
+
+	@GetMapping("/reports")
+	public ResponseEntity<StreamingResponseBody> exportReports(@RequestHeader(name = "Authorization") String token,
+			@RequestParam(defaultValue = "ndjson") String format) {
+		return export(token, format, "service-reports", true);
+	}
+
+	private ResponseEntity<StreamingResponseBody> export(String token, String format, String fileName,
+			boolean reports) {
+		ExportFormat exportFormat;
+		try {
+			exportFormat = ExportFormat.valueOf(format.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			return error(new Message(400, "UNSUPPORTED_FORMAT", format), HttpStatus.BAD_REQUEST);
+		}
+		try {
+			exportService.checkExportAccess(token);
+		} catch (InvalidDataAccessException e) {
+			return error(new Message(401, e.getMessage(), null), HttpStatus.UNAUTHORIZED);
+		} catch (FeignClientException e) {
+			String[] message = e.getMessage().split(" ");
+			int errCode = Integer.parseInt(message[0].split("")[1] + message[0].split("")[2] + message[0].split("")[3]);
+			return error(new Message(errCode, "AUTHORIZATION_ERROR", message[5]), HttpStatus.valueOf(errCode));
+		}
+		// Rows are written from the database cursor as the client reads them
+		StreamingResponseBody body = reports ? out -> exportService.exportReports(out, exportFormat)
+				: out -> exportService.exportRequests(out, exportFormat);
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=" + fileName + "." + exportFormat.getExtension())
+				.body(body);
+	}
+
+	private ResponseEntity<StreamingResponseBody> error(Message message, HttpStatus status) {
+		return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON)
+				.body(out -> objectMapper.writeValue(out, message));
+	}
+
+}
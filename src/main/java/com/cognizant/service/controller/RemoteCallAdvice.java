@@ -0,0 +1,27 @@
+package com.cognizant.service.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.cognizant.service.model.Message;
+
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+
+/**
+ * Answers 503 when a call to another microservice was rejected by its circuit
+ * breaker or bulkhead, or timed out, wherever in the request that happened.
+ */
+@RestControllerAdvice
+public class RemoteCallAdvice {
+
+	@ExceptionHandler({ CallNotPermittedException.class, BulkheadFullException.class, RetryableException.class })
+	public ResponseEntity<?> dependencyUnavailable(RuntimeException e) {
+		return new ResponseEntity<>(new Message(503, "DEPENDENCY_UNAVAILABLE", e.getMessage()),
+				HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+}
@@ -1,8 +1,10 @@
 package com.cognizant.service.controller;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -14,7 +16,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.cognizant.service.dto.AppServiceReqReportDTO;
 import com.cognizant.service.dto.ServiceRequestDTO;
@@ -22,9 +26,13 @@ import com.cognizant.service.exception.InvalidDataAccessException;
 import com.cognizant.service.exception.NoRequestFoundException;
 import com.cognizant.service.exception.RequestNotExistsException;
 import com.cognizant.service.exception.ServiceAlreadyProvidedException;
+import com.cognizant.service.exception.ServiceUnavailableException;
 import com.cognizant.service.exception.UnauthorizedAccessException;
 import com.cognizant.service.model.AppServiceReqReport;
+import com.cognizant.service.model.BatchItemResult;
+import com.cognizant.service.model.CursorPage;
 import com.cognizant.service.model.Message;
+import com.cognizant.service.model.SearchHit;
 import com.cognizant.service.model.ServiceRequest;
 import com.cognizant.service.model.ServiceResponse;
 import com.cognizant.service.service.RequestService;
@@ -39,6 +47,9 @@ public class ServicesController {
 	@Autowired
 	RequestService service;
 
+	@Value("${service.batch.max-size:500}")
+	int maxBatchSize;
+
 	@PostMapping
 	public ResponseEntity<?> createServiceBooking(@RequestHeader(name = "Authorization") String token,
 			@RequestBody ServiceRequestDTO request) {
@@ -47,6 +58,32 @@ public class ServicesController {
 			return new ResponseEntity<>(new Message(200, "New request raised with id:"+response.getId(), response), HttpStatus.OK);
 		} catch (UnauthorizedAccessException e) {
 			return new ResponseEntity<>(new Message(401, "AUTHORIZATION_ERROR", null), HttpStatus.UNAUTHORIZED);
+		} catch (ServiceUnavailableException e) {
+			return new ResponseEntity<>(new Message(503, e.getMessage(), null), HttpStatus.SERVICE_UNAVAILABLE);
+		} catch (FeignClientException e) {
+			String[] message = e.getMessage().split(" ");
+			int errCode = Integer.parseInt(message[0].split("")[1] + message[0].split("")[2] + message[0].split("")[3]);
+			return new ResponseEntity<>(new Message(errCode, "AUTHORIZATION_ERROR", message[5]),
+					HttpStatus.valueOf(errCode));
+		}
+	}
+
+	@PostMapping("/batch")
+	public ResponseEntity<?> createServiceBookings(@RequestHeader(name = "Authorization") String token,
+			@RequestBody List<ServiceRequestDTO> requests) {
+		if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+			return new ResponseEntity<>(new Message(400, "BATCH_SIZE_MUST_BE_1_TO_" + maxBatchSize, null),
+					HttpStatus.BAD_REQUEST);
+		}
+		try {
+			List<BatchItemResult> response = service.newServiceRequests(token, requests);
+			long raised = response.stream().filter(ele -> ele.getId() != null).count();
+			return new ResponseEntity<>(new Message(200, raised + " of " + requests.size() + " requests raised", response),
+					HttpStatus.OK);
+		} catch (UnauthorizedAccessException e) {
+			return new ResponseEntity<>(new Message(401, "AUTHORIZATION_ERROR", null), HttpStatus.UNAUTHORIZED);
+		} catch (ServiceUnavailableException e) {
+			return new ResponseEntity<>(new Message(503, e.getMessage(), null), HttpStatus.SERVICE_UNAVAILABLE);
 		} catch (FeignClientException e) {
 			String[] message = e.getMessage().split(" ");
 			int errCode = Integer.parseInt(message[0].split("")[1] + message[0].split("")[2] + message[0].split("")[3]);
@@ -56,8 +93,14 @@ public class ServicesController {
 	}
 
 	@GetMapping
-	public ResponseEntity<?> getMyProductServices(@RequestHeader(name = "Authorization") String token) {
+	public ResponseEntity<?> getMyProductServices(@RequestHeader(name = "Authorization") String token,
+			WebRequest request) {
 		try {
+			// Answered from the version counters alone when the caller already has the current list
+			String tag = service.myProductRequestsTag(token);
+			if (tag != null && request.checkNotModified(tag)) {
+				return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+			}
 			List<ServiceResponse> myProductRequests = service.getMyProductRequests(token);
 			return new ResponseEntity<>(new Message(200, "Data Found", myProductRequests), HttpStatus.OK);
 		} catch (NoRequestFoundException e) {
@@ -71,9 +114,56 @@ public class ServicesController {
 		}
 	}
 
+	@GetMapping("/all")
+	public ResponseEntity<?> getAllRequests(@RequestHeader(name = "Authorization") String token,
+			@RequestParam(defaultValue = "0") long after, @RequestParam(required = false) Integer size) {
+		try {
+			CursorPage<ServiceRequest> page = service.getRequestPage(token, after, size);
+			return new ResponseEntity<>(new Message(200, "DATA FOUND", page.getItems(), page.getNextCursor()),
+					HttpStatus.OK);
+		} catch (InvalidDataAccessException e) {
+			return new ResponseEntity<>(new Message(401, e.getMessage(), null), HttpStatus.UNAUTHORIZED);
+		} catch (FeignClientException e) {
+			String[] message = e.getMessage().split(" ");
+			int errCode = Integer.parseInt(message[0].split("")[1] + message[0].split("")[2] + message[0].split("")[3]);
+			return new ResponseEntity<>(new Message(errCode, "AUTHORIZATION_ERROR", message[5]),
+					HttpStatus.valueOf(errCode));
+		}
+	}
+
+	@GetMapping("/search")
+	public ResponseEntity<?> searchRequests(@RequestHeader(name = "Authorization") String token,
+			@RequestParam String q, @RequestParam(defaultValue = "0") int offset,
+			@RequestParam(required = false) Integer size) {
+		if (q.isBlank()) {
+			return new ResponseEntity<>(new Message(400, "SEARCH_TEXT_REQUIRED", null), HttpStatus.BAD_REQUEST);
+		}
+		if (offset < 0) {
+			return new ResponseEntity<>(new Message(400, "OFFSET_MUST_NOT_BE_NEGATIVE", null), HttpStatus.BAD_REQUEST);
+		}
+		try {
+			CursorPage<SearchHit> page = service.searchRequests(token, q, offset, size);
+			String message = page.getItems().isEmpty() ? "NO DATA FOUND" : "DATA FOUND";
+			return new ResponseEntity<>(new Message(200, message, page.getItems(), page.getNextCursor()), HttpStatus.OK);
+		} catch (InvalidDataAccessException e) {
+			return new ResponseEntity<>(new Message(401, e.getMessage(), null), HttpStatus.UNAUTHORIZED);
+		} catch (IOException e) {
+			return new ResponseEntity<>(new Message(500, "SEARCH_FAILED", null), HttpStatus.INTERNAL_SERVER_ERROR);
+		} catch (FeignClientException e) {
+			String[] message = e.getMessage().split(" ");
+			int errCode = Integer.parseInt(message[0].split("")[1] + message[0].split("")[2] + message[0].split("")[3]);
+			return new ResponseEntity<>(new Message(errCode, "AUTHORIZATION_ERROR", message[5]),
+					HttpStatus.valueOf(errCode));
+		}
+	}
+
 	@GetMapping("/my-requests")
-	public ResponseEntity<?> getMyRequests(@RequestHeader(name = "Authorization") String token) {
+	public ResponseEntity<?> getMyRequests(@RequestHeader(name = "Authorization") String token,
+			WebRequest request) {
 		try {
+			if (request.checkNotModified(service.myRequestsTag(token))) {
+				return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+			}
 			List<ServiceRequest> myRequests = service.getMyRequest(token);
 			if (myRequests.isEmpty()) {
 				return new ResponseEntity<>(new Message(200, "No Requests Raised", myRequests), HttpStatus.OK);
@@ -170,11 +260,35 @@ public class ServicesController {
 		}
 	}
 
+	@PostMapping("/report/batch")
+	public ResponseEntity<?> createNewServiceReports(@RequestHeader(name = "Authorization") String token,
+			@RequestBody List<AppServiceReqReportDTO> reportDTOs) {
+		if (reportDTOs == null || reportDTOs.isEmpty() || reportDTOs.size() > maxBatchSize) {
+			return new ResponseEntity<>(new Message(400, "BATCH_SIZE_MUST_BE_1_TO_" + maxBatchSize, null),
+					HttpStatus.BAD_REQUEST);
+		}
+		try {
+			List<BatchItemResult> response = service.createNewReqReports(token, reportDTOs);
+			long created = response.stream().filter(ele -> ele.getId() != null).count();
+			return new ResponseEntity<>(new Message(200, created + " of " + reportDTOs.size() + " reports created", response),
+					HttpStatus.OK);
+		} catch (InvalidDataAccessException e) {
+			return new ResponseEntity<>(new Message(401, e.getMessage(), null), HttpStatus.UNAUTHORIZED);
+		} catch (NoRequestFoundException e) {
+			return new ResponseEntity<>(new Message(404, e.getMessage(), null), HttpStatus.NOT_FOUND);
+		} catch (FeignClientException e) {
+			String[] message = e.getMessage().split(" ");
+			int errCode = Integer.parseInt(message[0].split("")[1] + message[0].split("")[2] + message[0].split("")[3]);
+			return new ResponseEntity<>(new Message(errCode, "AUTHORIZATION_ERROR", message[5]),
+					HttpStatus.valueOf(errCode));
+		}
+	}
+
 	@GetMapping("/report/userId/{userId}")
 	public ResponseEntity<?> getReportForAUser(@RequestHeader(name = "Authorization") String token,
 			@PathVariable long userId) {
 		try {
-			List<ServiceRequest> response = service.getRequestAsPerUserId(token, userId);
+			List<AppServiceReqReport> response = service.getReportByUserId(token, userId);
 			if (response.isEmpty()) {
 				return new ResponseEntity<>(new Message(200, "NO DATA FOUND", null), HttpStatus.OK);
 			}
@@ -190,8 +304,15 @@ public class ServicesController {
 	}
 
 	@GetMapping("/report")
-	public ResponseEntity<?> getAllReports(@RequestHeader(name = "Authorization") String token) {
+	public ResponseEntity<?> getAllReports(@RequestHeader(name = "Authorization") String token,
+			@RequestParam(required = false) Long after, @RequestParam(required = false) Integer size) {
 		try {
+			// Keyset paging is opt-in so existing clients still get the full list
+			if (after != null || size != null) {
+				CursorPage<AppServiceReqReport> page = service.getReportPage(token, after == null ? 0 : after, size);
+				return new ResponseEntity<>(new Message(200, "DATA FOUND", page.getItems(), page.getNextCursor()),
+						HttpStatus.OK);
+			}
 			List<AppServiceReqReport> response = service.getAllReport(token);
 			if (response.isEmpty()) {
 				return new ResponseEntity<>(new Message(200, "NO DATA FOUND", null), HttpStatus.OK);
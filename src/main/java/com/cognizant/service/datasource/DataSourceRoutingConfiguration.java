@@ -0,0 +1,56 @@
+package com.cognizant.service.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Replaces the single spring.datasource pool with a primary and a replica pool,
+ * each with its own Hikari settings under service.datasource.primary.* and
+ * service.datasource.replica.*. Methods marked
+ * {@code @Transactional(readOnly = true)} read from the replica, writes and
+ * anything outside a read-only transaction use the primary. Reads right after
+ * a write may lag behind it by whatever the replication delay is.
+ */
+@Configuration
+@ConditionalOnProperty(name = "service.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration {
+
+	@Bean(destroyMethod = "close")
+	@ConfigurationProperties("service.datasource.primary")
+	public HikariDataSource primaryDataSource() {
+		return new HikariDataSource();
+	}
+
+	@Bean(destroyMethod = "close")
+	@ConfigurationProperties("service.datasource.replica")
+	public HikariDataSource replicaDataSource() {
+		return new HikariDataSource();
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+			@Qualifier("replicaDataSource") DataSource replica) {
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(ReadWriteRoutingDataSource.PRIMARY, primary);
+		targets.put(ReadWriteRoutingDataSource.REPLICA, replica);
+		ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+		routing.setTargetDataSources(targets);
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.cognizant.service.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections of read-only transactions to the replica and everything
+ * else to the primary. The transaction's read-only flag is only set after the
+ * transaction manager asked for a connection, so this must sit behind a
+ * LazyConnectionDataSourceProxy that defers the lookup to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	public static final String PRIMARY = "primary";
+	public static final String REPLICA = "replica";
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.cognizant.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typed form of the Message envelope returned by the other microservices, so the
+ * Feign decoder maps the payload straight into its DTO.
+ */
+public @Data @AllArgsConstructor @NoArgsConstructor class ClientResponse<T> {
+
+	private int status;
+	private String message;
+	private T payload;
+
+}
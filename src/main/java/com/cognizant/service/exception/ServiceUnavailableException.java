@@ -0,0 +1,11 @@
+package com.cognizant.service.exception;
+
+public class ServiceUnavailableException extends Exception {
+
+	private static final long serialVersionUID = 6310372948735150462L;
+
+	public ServiceUnavailableException(String message) {
+		super(message);
+	}
+
+}
@@ -2,20 +2,35 @@ package com.cognizant.service.model;
 
 import java.util.Date;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = @Index(name = "uk_report_service_request", columnList = "serviceReqId", unique = true))
+// Reports are never changed once written
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "service-report")
 public @Data @AllArgsConstructor @NoArgsConstructor class AppServiceReqReport {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// Pooled sequence instead of IDENTITY so Hibernate can batch inserts
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_report_seq")
+	@SequenceGenerator(name = "service_report_seq", sequenceName = "service_report_seq", allocationSize = 50)
 	private long id;
 	private long serviceReqId;
 	private Date reportDate;
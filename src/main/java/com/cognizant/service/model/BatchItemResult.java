@@ -0,0 +1,15 @@
+package com.cognizant.service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public @Data @AllArgsConstructor @NoArgsConstructor class BatchItemResult {
+
+	// Position of the item in the submitted batch
+	private int index;
+	private int status;
+	private String message;
+	private Long id;
+
+}
@@ -0,0 +1,15 @@
+package com.cognizant.service.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public @Data @AllArgsConstructor @NoArgsConstructor class CursorPage<T> {
+
+	private List<T> items;
+	// Null when this is the last page
+	private Long nextCursor;
+
+}
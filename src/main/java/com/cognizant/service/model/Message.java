@@ -1,5 +1,7 @@
 package com.cognizant.service.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,5 +11,12 @@ public @Data @AllArgsConstructor @NoArgsConstructor class Message {
 	private int status;
 	private String message;
 	private Object payload;
+	// Id to pass as "after" (the offset for searches) to fetch the next page, only set on paged responses
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Long nextCursor;
+
+	public Message(int status, String message, Object payload) {
+		this(status, message, payload, null);
+	}
 
 }
@@ -0,0 +1,14 @@
+package com.cognizant.service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public @Data @AllArgsConstructor @NoArgsConstructor class SearchHit {
+
+	private float score;
+	private ServiceRequest request;
+	// Null while the request has no report
+	private AppServiceReqReport report;
+
+}
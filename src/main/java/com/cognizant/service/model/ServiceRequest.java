@@ -6,16 +6,23 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = { @Index(name = "idx_service_request_product", columnList = "productId"),
+		@Index(name = "idx_service_request_user_product", columnList = "userId,productId") })
 public @Data @AllArgsConstructor @NoArgsConstructor class ServiceRequest {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// Pooled sequence instead of IDENTITY so Hibernate can batch inserts
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_request_seq")
+	@SequenceGenerator(name = "service_request_seq", sequenceName = "service_request_seq", allocationSize = 50)
 	private long id;
 	private long productId;
 	private long userId;
@@ -15,5 +15,11 @@ public @Data @AllArgsConstructor @NoArgsConstructor class ServiceResponse {
 	private String problem;
 	private String description;
 	private ServiceStatus status;
-	
+
+	// Used by the JPQL constructor projection, the user is built detached from its columns
+	public ServiceResponse(long id, long productId, long userId, String name, String email, long mobile,
+			Date requestDate, String problem, String description, ServiceStatus status) {
+		this(id, productId, new UserData(userId, name, email, mobile), requestDate, problem, description, status);
+	}
+
 }
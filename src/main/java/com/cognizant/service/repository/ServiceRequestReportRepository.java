@@ -1,16 +1,53 @@
 package com.cognizant.service.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.cognizant.service.model.AppServiceReqReport;
 
 public interface ServiceRequestReportRepository extends JpaRepository<AppServiceReqReport, Long> {
 	
 	List<AppServiceReqReport> findByPaid(boolean isPaid);
+
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheRegion", value = "report-queries") })
 	Optional<AppServiceReqReport> findByServiceReqId(long serviceReqId);
-	Optional<AppServiceReqReport> findByIdAndServiceReqId(long id, long serviceReqId);
+
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheRegion", value = "report-queries") })
+	List<AppServiceReqReport> findByServiceReqIdIn(Collection<Long> serviceReqIds);
+
+	List<AppServiceReqReport> findByServiceReqIdBetween(long from, long to);
+	List<AppServiceReqReport> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+	@Query("select rep from AppServiceReqReport rep, ServiceRequest r where r.id = rep.serviceReqId "
+			+ "and r.productId in :productIds and rep.id > :after order by rep.id")
+	List<AppServiceReqReport> findPageByProductIdIn(@Param("productIds") Collection<Long> productIds,
+			@Param("after") long after, Pageable pageable);
+
+	@Query("select rep from AppServiceReqReport rep, ServiceRequest r where rep.id = :id "
+			+ "and r.id = rep.serviceReqId and r.productId in :productIds")
+	Optional<AppServiceReqReport> findByIdAndProductIdIn(@Param("id") long id,
+			@Param("productIds") Collection<Long> productIds);
+
+	@Query("select rep.serviceReqId from AppServiceReqReport rep where rep.serviceReqId in :serviceReqIds")
+	List<Long> findServiceReqIdsByServiceReqIdIn(@Param("serviceReqIds") Collection<Long> serviceReqIds);
+
+	// Exports bypass the second-level cache so a full scan doesn't evict the hot entries
+	@QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+			@QueryHint(name = "org.hibernate.readOnly", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE") })
+	@Query("select rep from AppServiceReqReport rep order by rep.id")
+	Stream<AppServiceReqReport> streamAll();
 	
 }
@@ -1,11 +1,22 @@
 package com.cognizant.service.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.cognizant.service.model.ServiceRequest;
+import com.cognizant.service.model.ServiceResponse;
+import com.cognizant.service.model.ServiceStatus;
 
 @Repository
 public interface ServiceRequestRepository extends JpaRepository<ServiceRequest, Long> {
@@ -13,4 +24,22 @@ public interface ServiceRequestRepository extends JpaRepository<ServiceRequest,
 	List<ServiceRequest> findByProductId(long productId);
 	List<ServiceRequest> findByUserId(long userId);
 	List<ServiceRequest> findByUserIdAndProductId(long userId,long productId);
+	List<ServiceRequest> findByUserIdAndProductIdIn(long userId, Collection<Long> productIds);
+	List<ServiceRequest> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+	@Query("select new com.cognizant.service.model.ServiceResponse(r.id, r.productId, u.userId, u.name, u.email, "
+			+ "u.mobile, r.requestDate, r.problem, r.description, r.status) "
+			+ "from ServiceRequest r, UserData u where u.userId = r.userId and r.productId in :productIds")
+	List<ServiceResponse> findResponsesByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+	List<ServiceRequest> findByIdInAndProductIdIn(Collection<Long> ids, Collection<Long> productIds);
+
+	@Modifying
+	@Query("update ServiceRequest r set r.status = :status where r.id in :ids")
+	int updateStatusByIdIn(@Param("status") ServiceStatus status, @Param("ids") Collection<Long> ids);
+
+	@QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+			@QueryHint(name = "org.hibernate.readOnly", value = "true") })
+	@Query("select r from ServiceRequest r order by r.id")
+	Stream<ServiceRequest> streamAll();
 }
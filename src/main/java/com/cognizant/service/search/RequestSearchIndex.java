@@ -0,0 +1,323 @@
+package com.cognizant.service.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cognizant.service.model.AppServiceReqReport;
+import com.cognizant.service.model.CursorPage;
+import com.cognizant.service.model.ServiceRequest;
+import com.cognizant.service.repository.ServiceRequestReportRepository;
+import com.cognizant.service.repository.ServiceRequestRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lucene index over the text of service requests and their reports, one
+ * document per request. Writes are applied once their transaction commits and
+ * are visible to the next search. The index is kept in memory and rebuilt from
+ * the database once all beans are created, before the server takes requests;
+ * like ListVersions it is per instance.
+ * <p>
+ * Text is indexed stemmed and, under {@code <field>_words}, as plain lowercased
+ * words. Every query word also matches those words by prefix, because the
+ * stemmer does not bring all forms of a word together: "overheating" stems to
+ * "overh" while "overheat" stays as it is.
+ */
+@Slf4j
+@Component
+public class RequestSearchIndex implements MeterBinder, SmartInitializingSingleton {
+
+	private static final String ID = "id";
+	private static final String USER = "userId";
+	private static final String PRODUCT = "productId";
+	private static final String PROBLEM = "problem";
+	private static final String DESCRIPTION = "description";
+	private static final String DIAGNOSIS = "diagnosisDetails";
+	private static final String REPAIR = "repairDetails";
+	private static final String WORDS = "_words";
+
+	// Shorter words would expand to too many terms to be a useful prefix
+	private static final int MIN_PREFIX_LENGTH = 4;
+	// Prefix matches score a flat boost, kept below a typical stemmed match
+	private static final float PREFIX_BOOST = 0.2f;
+
+	// The problem is what support staff describe a symptom with, so it ranks highest
+	private static final Map<String, Float> WEIGHTS = Map.of(PROBLEM, 2f, DESCRIPTION, 1f, DIAGNOSIS, 1f, REPAIR,
+			1f);
+
+	@Autowired
+	ServiceRequestRepository serviceRequestRepository;
+
+	@Autowired
+	ServiceRequestReportRepository reportRepository;
+
+	@Value("${service.search.max-results:1000}")
+	int maxResults;
+
+	@Value("${service.search.rebuild-batch-size:1000}")
+	int rebuildBatchSize;
+
+	private final Analyzer words = new StandardAnalyzer();
+
+	private final Analyzer analyzer = new PerFieldAnalyzerWrapper(new EnglishAnalyzer(), WEIGHTS.keySet().stream()
+			.collect(Collectors.toMap(field -> field + WORDS, field -> words)));
+
+	private IndexWriter writer;
+
+	private SearcherManager searchers;
+
+	@PostConstruct
+	void init() throws IOException {
+		writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+		searchers = new SearcherManager(writer, null);
+	}
+
+	// Not in init: the repositories report metrics, and this bean is bound while the MeterRegistry is created
+	@Override
+	public void afterSingletonsInstantiated() {
+		try {
+			rebuild();
+		} catch (IOException e) {
+			throw new IllegalStateException("Search index rebuild failed", e);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() throws IOException {
+		searchers.close();
+		writer.close();
+	}
+
+	void rebuild() throws IOException {
+		writer.deleteAll();
+		long after = 0;
+		List<ServiceRequest> page;
+		do {
+			page = serviceRequestRepository.findByIdGreaterThanOrderByIdAsc(after,
+					PageRequest.of(0, rebuildBatchSize));
+			if (page.isEmpty()) {
+				break;
+			}
+			long first = page.get(0).getId();
+			after = page.get(page.size() - 1).getId();
+			Map<Long, AppServiceReqReport> reports = reportRepository.findByServiceReqIdBetween(first, after).stream()
+					.collect(Collectors.toMap(AppServiceReqReport::getServiceReqId, ele -> ele));
+			for (ServiceRequest request : page) {
+				writer.addDocument(document(request, reports.get(request.getId())));
+			}
+		} while (page.size() == rebuildBatchSize);
+		searchers.maybeRefresh();
+	}
+
+	public void requestSaved(ServiceRequest request, AppServiceReqReport report) {
+		Document document = document(request, report);
+		afterCommit(() -> writer.updateDocument(idTerm(request.getId()), document));
+	}
+
+	public void requestsSaved(Collection<ServiceRequest> requests) {
+		List<Document> documents = requests.stream().map(request -> document(request, null))
+				.collect(Collectors.toList());
+		afterCommit(() -> {
+			for (Document document : documents) {
+				writer.updateDocument(new Term(ID, document.get(ID)), document);
+			}
+		});
+	}
+
+	public void reportsSaved(Collection<AppServiceReqReport> reports, Map<Long, ServiceRequest> requests) {
+		List<Document> documents = reports.stream()
+				.map(report -> document(requests.get(report.getServiceReqId()), report)).collect(Collectors.toList());
+		afterCommit(() -> {
+			for (Document document : documents) {
+				writer.updateDocument(new Term(ID, document.get(ID)), document);
+			}
+		});
+	}
+
+	public void requestDeleted(long id) {
+		afterCommit(() -> writer.deleteDocuments(idTerm(id)));
+	}
+
+	/**
+	 * Ranked requests matching the text, best first, skipping the first
+	 * {@code offset}. The next cursor is the offset of the following page.
+	 */
+	public CursorPage<SearchMatch> search(String text, int offset, int size) throws IOException {
+		return search(parse(text), offset, size);
+	}
+
+	/**
+	 * Like {@link #search(String, int, int)}, restricted to requests raised by
+	 * the user or made on one of the products.
+	 */
+	public CursorPage<SearchMatch> searchOwned(String text, long userId, Collection<Long> productIds, int offset,
+			int size) throws IOException {
+		BooleanQuery.Builder owners = new BooleanQuery.Builder()
+				.add(LongPoint.newExactQuery(USER, userId), BooleanClause.Occur.SHOULD);
+		if (!productIds.isEmpty()) {
+			owners.add(LongPoint.newSetQuery(PRODUCT, productIds), BooleanClause.Occur.SHOULD);
+		}
+		owners.setMinimumNumberShouldMatch(1);
+		Query query = new BooleanQuery.Builder().add(parse(text), BooleanClause.Occur.MUST)
+				.add(owners.build(), BooleanClause.Occur.FILTER).build();
+		return search(query, offset, size);
+	}
+
+	private CursorPage<SearchMatch> search(Query query, int offset, int size) throws IOException {
+		int end = Math.min(offset + size, maxResults);
+		if (offset >= end) {
+			return new CursorPage<>(new ArrayList<>(), null);
+		}
+		IndexSearcher searcher = searchers.acquire();
+		try {
+			// One extra hit tells whether there is a next page
+			ScoreDoc[] hits = searcher.search(query, end + 1).scoreDocs;
+			List<SearchMatch> matches = new ArrayList<>();
+			for (int i = offset; i < Math.min(end, hits.length); i++) {
+				long id = Long.parseLong(searcher.doc(hits[i].doc).get(ID));
+				matches.add(new SearchMatch(id, hits[i].score));
+			}
+			Long next = hits.length > end && end < maxResults ? Long.valueOf(end) : null;
+			return new CursorPage<>(matches, next);
+		} finally {
+			searchers.release(searcher);
+		}
+	}
+
+	// Quotes, +, - and | work as in a search box, malformed input is never an error
+	private Query parse(String text) {
+		return new WordQueryParser(analyzer, words).parse(text);
+	}
+
+	private static Document document(ServiceRequest request, AppServiceReqReport report) {
+		Document document = new Document();
+		document.add(new StringField(ID, Long.toString(request.getId()), Field.Store.YES));
+		document.add(new LongPoint(USER, request.getUserId()));
+		document.add(new LongPoint(PRODUCT, request.getProductId()));
+		addText(document, PROBLEM, request.getProblem());
+		addText(document, DESCRIPTION, request.getDescription());
+		if (report != null) {
+			addText(document, DIAGNOSIS, report.getDiagnosisDetails());
+			addText(document, REPAIR, report.getRepairDetails());
+		}
+		return document;
+	}
+
+	private static void addText(Document document, String field, String value) {
+		if (value != null) {
+			document.add(new TextField(field, value, Field.Store.NO));
+			document.add(new TextField(field + WORDS, value, Field.Store.NO));
+		}
+	}
+
+	private static Term idTerm(long id) {
+		return new Term(ID, Long.toString(id));
+	}
+
+	// Applied only once the write is visible, so a hit always refers to committed data
+	private void afterCommit(IndexUpdate update) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			apply(update);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+			@Override
+			public void afterCommit() {
+				apply(update);
+			}
+		});
+	}
+
+	// The write is already committed, so a failed index update must not fail the request
+	private void apply(IndexUpdate update) {
+		try {
+			update.run();
+			searchers.maybeRefresh();
+		} catch (IOException e) {
+			log.error("Search index update failed, the index is behind until the next restart rebuilds it", e);
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("service.search.documents", writer, ele -> ele.getDocStats().numDocs)
+				.description("Service requests in the search index").register(registry);
+	}
+
+	// Called by SimpleQueryParser for each word of the query outside quotes
+	private static final class WordQueryParser extends SimpleQueryParser {
+
+		private final Analyzer words;
+
+		private WordQueryParser(Analyzer analyzer, Analyzer words) {
+			super(analyzer, WEIGHTS);
+			this.words = words;
+		}
+
+		@Override
+		protected Query newDefaultQuery(String text) {
+			Query stemmed = super.newDefaultQuery(text);
+			// Null for stop words, which are not looked up as prefixes either
+			if (stemmed == null || text.length() < MIN_PREFIX_LENGTH) {
+				return stemmed;
+			}
+			BooleanQuery.Builder any = new BooleanQuery.Builder().add(stemmed, BooleanClause.Occur.SHOULD);
+			for (Map.Entry<String, Float> field : WEIGHTS.entrySet()) {
+				String wordField = field.getKey() + WORDS;
+				BytesRef prefix = words.normalize(wordField, text);
+				any.add(new BoostQuery(new PrefixQuery(new Term(wordField, prefix)), field.getValue() * PREFIX_BOOST),
+						BooleanClause.Occur.SHOULD);
+			}
+			return any.build();
+		}
+	}
+
+	@FunctionalInterface
+	private interface IndexUpdate {
+
+		void run() throws IOException;
+	}
+
+}
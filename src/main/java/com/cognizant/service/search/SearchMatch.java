@@ -0,0 +1,12 @@
+package com.cognizant.service.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public @Data @AllArgsConstructor @NoArgsConstructor class SearchMatch {
+
+	private long requestId;
+	private float score;
+
+}
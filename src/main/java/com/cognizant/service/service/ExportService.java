@@ -0,0 +1,20 @@
+package com.cognizant.service.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.stereotype.Service;
+
+import com.cognizant.service.exception.InvalidDataAccessException;
+import com.cognizant.service.model.ExportFormat;
+
+@Service
+public interface ExportService {
+
+	void checkExportAccess(String token) throws InvalidDataAccessException;
+
+	long exportRequests(OutputStream out, ExportFormat format) throws IOException;
+
+	long exportReports(OutputStream out, ExportFormat format) throws IOException;
+
+}
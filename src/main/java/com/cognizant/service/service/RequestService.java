@@ -1,5 +1,6 @@
 package com.cognizant.service.service;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
@@ -10,15 +11,23 @@ import com.cognizant.service.exception.InvalidDataAccessException;
 import com.cognizant.service.exception.NoRequestFoundException;
 import com.cognizant.service.exception.RequestNotExistsException;
 import com.cognizant.service.exception.ServiceAlreadyProvidedException;
+import com.cognizant.service.exception.ServiceUnavailableException;
 import com.cognizant.service.exception.UnauthorizedAccessException;
 import com.cognizant.service.model.AppServiceReqReport;
+import com.cognizant.service.model.BatchItemResult;
+import com.cognizant.service.model.CursorPage;
+import com.cognizant.service.model.SearchHit;
 import com.cognizant.service.model.ServiceRequest;
 import com.cognizant.service.model.ServiceResponse;
 
 @Service
 public interface RequestService {
 
-	ServiceResponse newServiceRequest(String token, ServiceRequestDTO dto) throws UnauthorizedAccessException;
+	ServiceResponse newServiceRequest(String token, ServiceRequestDTO dto)
+			throws UnauthorizedAccessException, ServiceUnavailableException;
+
+	List<BatchItemResult> newServiceRequests(String token, List<ServiceRequestDTO> dtos)
+			throws UnauthorizedAccessException, ServiceUnavailableException;
 
 	List<ServiceResponse> getMyProductRequests(String token) throws NoRequestFoundException;
 
@@ -26,6 +35,10 @@ public interface RequestService {
 
 	List<ServiceRequest> getMyRequest(String token) throws InvalidDataAccessException, NoRequestFoundException;
 
+	String myRequestsTag(String token) throws InvalidDataAccessException;
+
+	String myProductRequestsTag(String token);
+
 	ServiceRequest deleteRequest(String token, long id)
 			throws InvalidDataAccessException, RequestNotExistsException, NoRequestFoundException;
 
@@ -37,6 +50,9 @@ public interface RequestService {
 	AppServiceReqReport createNewReqReport(String token, AppServiceReqReportDTO requestDTO)
 			throws InvalidDataAccessException, NoRequestFoundException, ServiceAlreadyProvidedException;
 
+	List<BatchItemResult> createNewReqReports(String token, List<AppServiceReqReportDTO> requestDTOs)
+			throws InvalidDataAccessException, NoRequestFoundException;
+
 	List<AppServiceReqReport> getReportByUserId(String token, long userId) throws InvalidDataAccessException;
 
 	List<AppServiceReqReport> getAllReport(String token) throws InvalidDataAccessException, NoRequestFoundException;
@@ -46,6 +62,13 @@ public interface RequestService {
 	AppServiceReqReport getReportByRequestId(String token, long id) throws InvalidDataAccessException,
 			NoRequestFoundException, UnauthorizedAccessException, RequestNotExistsException;
 
-	
+	CursorPage<ServiceRequest> getRequestPage(String token, long after, Integer size)
+			throws InvalidDataAccessException;
+
+	CursorPage<AppServiceReqReport> getReportPage(String token, long after, Integer size)
+			throws InvalidDataAccessException, NoRequestFoundException;
+
+	CursorPage<SearchHit> searchRequests(String token, String text, int offset, Integer size)
+			throws InvalidDataAccessException, IOException;
 
 }
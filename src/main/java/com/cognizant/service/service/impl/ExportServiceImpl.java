@@ -0,0 +1,129 @@
+package com.cognizant.service.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cognizant.service.cache.RequestScopedLookups;
+import com.cognizant.service.dto.ValidatingDTO;
+import com.cognizant.service.exception.InvalidDataAccessException;
+import com.cognizant.service.model.AppServiceReqReport;
+import com.cognizant.service.model.ExportFormat;
+import com.cognizant.service.model.ServiceRequest;
+import com.cognizant.service.repository.ServiceRequestReportRepository;
+import com.cognizant.service.repository.ServiceRequestRepository;
+import com.cognizant.service.service.ExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+	private static final String REQUEST_HEADER = "id,productId,userId,requestDate,problem,description,status";
+	private static final String REPORT_HEADER = "id,serviceReqId,reportDate,serviceType,actionTaken,diagnosisDetails,paid,visitFees,repairDetails";
+
+	@Autowired
+	ServiceRequestRepository serviceRequestRepository;
+
+	@Autowired
+	ServiceRequestReportRepository reportRepository;
+
+	@Autowired
+	RequestScopedLookups lookups;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@PersistenceContext
+	EntityManager entityManager;
+
+	@Override
+	public void checkExportAccess(String token) throws InvalidDataAccessException {
+		ValidatingDTO validator = lookups.validatingToken(token);
+		if (validator.isValidStatus() && validator.getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
+			return;
+		}
+		throw new InvalidDataAccessException("UNAUTHORIZED_DATA_ACCESS");
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long exportRequests(OutputStream out, ExportFormat format) throws IOException {
+		try (Stream<ServiceRequest> rows = serviceRequestRepository.streamAll()) {
+			return write(rows, out, format, REQUEST_HEADER,
+					row -> new Object[] { row.getId(), row.getProductId(), row.getUserId(), row.getRequestDate(),
+							row.getProblem(), row.getDescription(), row.getStatus() });
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long exportReports(OutputStream out, ExportFormat format) throws IOException {
+		try (Stream<AppServiceReqReport> rows = reportRepository.streamAll()) {
+			return write(rows, out, format, REPORT_HEADER,
+					row -> new Object[] { row.getId(), row.getServiceReqId(), row.getReportDate(),
+							row.getServiceType(), row.getActionTaken(), row.getDiagnosisDetails(), row.isPaid(),
+							row.getVisitFees(), row.getRepairDetails() });
+		}
+	}
+
+	// Writes one line per row and detaches it right away so the persistence context stays empty
+	private <T> long write(Stream<T> rows, OutputStream out, ExportFormat format, String header,
+			Function<T, Object[]> columns) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		if (format == ExportFormat.CSV) {
+			writer.write(header);
+			writer.write('\n');
+		}
+		long count = 0;
+		Iterator<T> iterator = rows.iterator();
+		while (iterator.hasNext()) {
+			T row = iterator.next();
+			if (format == ExportFormat.CSV) {
+				writeCsvLine(writer, columns.apply(row));
+			} else {
+				writer.write(objectMapper.writeValueAsString(row));
+			}
+			writer.write('\n');
+			entityManager.detach(row);
+			count++;
+		}
+		writer.flush();
+		return count;
+	}
+
+	private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			Object value = values[i];
+			if (value == null) {
+				continue;
+			}
+			String text = value instanceof Date ? ((Date) value).toInstant().toString() : value.toString();
+			if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+					|| text.indexOf('\r') >= 0) {
+				writer.write('"');
+				writer.write(text.replace("\"", "\"\""));
+				writer.write('"');
+			} else {
+				writer.write(text);
+			}
+		}
+	}
+
+}
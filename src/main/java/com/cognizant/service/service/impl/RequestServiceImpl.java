@@ -1,21 +1,30 @@
 package com.cognizant.service.service.impl;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.cognizant.service.client.AuthClient;
-import com.cognizant.service.client.ProductClient;
-import com.cognizant.service.client.UserClient;
-import com.cognizant.service.dto.AppProduct;
+import com.cognizant.service.cache.ListVersions;
+import com.cognizant.service.cache.OwnedProducts;
+import com.cognizant.service.cache.RequestScopedLookups;
+import com.cognizant.service.client.RemoteCallExecutor;
 import com.cognizant.service.dto.AppServiceReqReportDTO;
 import com.cognizant.service.dto.ServiceRequestDTO;
 import com.cognizant.service.dto.Users;
@@ -24,9 +33,12 @@ import com.cognizant.service.exception.InvalidDataAccessException;
 import com.cognizant.service.exception.NoRequestFoundException;
 import com.cognizant.service.exception.RequestNotExistsException;
 import com.cognizant.service.exception.ServiceAlreadyProvidedException;
+import com.cognizant.service.exception.ServiceUnavailableException;
 import com.cognizant.service.exception.UnauthorizedAccessException;
 import com.cognizant.service.model.AppServiceReqReport;
-import com.cognizant.service.model.Message;
+import com.cognizant.service.model.BatchItemResult;
+import com.cognizant.service.model.CursorPage;
+import com.cognizant.service.model.SearchHit;
 import com.cognizant.service.model.ServiceRequest;
 import com.cognizant.service.model.ServiceResponse;
 import com.cognizant.service.model.ServiceStatus;
@@ -34,9 +46,11 @@ import com.cognizant.service.model.UserData;
 import com.cognizant.service.repository.ServiceRequestReportRepository;
 import com.cognizant.service.repository.ServiceRequestRepository;
 import com.cognizant.service.repository.UserDataRepository;
+import com.cognizant.service.search.RequestSearchIndex;
+import com.cognizant.service.search.SearchMatch;
 import com.cognizant.service.service.RequestService;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+
+import feign.FeignException.FeignClientException;
 
 @Service
 public class RequestServiceImpl implements RequestService {
@@ -48,67 +62,154 @@ public class RequestServiceImpl implements RequestService {
 	UserDataRepository userRepository;
 
 	@Autowired
-	AuthClient authClient;
+	RequestScopedLookups lookups;
+
+	@Autowired
+	RemoteCallExecutor remoteCallExecutor;
 
 	@Autowired
-	ProductClient productClient;
+	ServiceRequestReportRepository reportRepository;
 
 	@Autowired
-	UserClient userClient;
+	ListVersions listVersions;
 
 	@Autowired
-	ServiceRequestReportRepository reportRepository;
+	RequestSearchIndex searchIndex;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Value("${service.remote.product-timeout-ms:3000}")
+	long productTimeoutMs;
+
+	@Value("${service.remote.user-timeout-ms:3000}")
+	long userTimeoutMs;
+
+	@Value("${service.pagination.default-size:50}")
+	int defaultPageSize;
+
+	@Value("${service.pagination.max-size:500}")
+	int maxPageSize;
 
 	@Override
 	@Transactional
-	public ServiceResponse newServiceRequest(String token, ServiceRequestDTO dto) throws UnauthorizedAccessException {
-		ValidatingDTO validator = authClient.validatingToken(token);
+	public ServiceResponse newServiceRequest(String token, ServiceRequestDTO dto)
+			throws UnauthorizedAccessException, ServiceUnavailableException {
+		ValidatingDTO validator = lookups.validatingToken(token);
 		// Check if jwt token is valid and if the user is not a admin
 		if (validator.isValidStatus() && !validator.getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
-			Message product = productClient.getProductById(token, dto.getProductId());
+			// Product and user lookups only need the token, so run them side by side
+			CompletableFuture<Boolean> productExists = remoteCallExecutor
+					.submit(() -> lookups.productExists(token, dto.getProductId()));
+			CompletableFuture<Users> currentUser = remoteCallExecutor
+					.submit(() -> lookups.currentUser(token));
+			boolean exists;
+			try {
+				exists = remoteCallExecutor.await(productExists, productTimeoutMs, "product-microservice");
+			} catch (ServiceUnavailableException | RuntimeException e) {
+				currentUser.cancel(true);
+				throw e;
+			}
 			// Check if product exists
-			if (product.getStatus() == 200) {
-				Gson gson = new GsonBuilder().create();
-				Users users = gson.fromJson(gson.toJson(userClient.getCurrentUserDetails(token).getPayload()),
-						Users.class);
-				Optional<UserData> user = userRepository.findById(users.getId());
-				// Create local memory of user data for later usage i.e. contact them etc
-				// If the user does not exists in local memory create else use existing
-				if (user.isEmpty()) {
-					UserData userSave = userRepository
-							.save(new UserData(users.getId(), users.getName(), users.getEmail(), users.getMobile()));
-					user = userRepository.findById(userSave.getUserId());
-				}
+			if (exists) {
+				UserData user = localUser(remoteCallExecutor.await(currentUser, userTimeoutMs, "user-microservice"));
 				// Save the request in the database
 				ServiceRequest save = serviceRequestRepository
-						.save(new ServiceRequest(dto.getProductId(), user.get().getUserId(), new Date(),
+						.save(new ServiceRequest(dto.getProductId(), user.getUserId(), new Date(),
 								dto.getProblem(), dto.getDescription(), ServiceStatus.Pending));
+				listVersions.requestChanged(user.getUserId(), dto.getProductId());
+				searchIndex.requestSaved(save, null);
 
-				return new ServiceResponse(save.getId(), dto.getProductId(), user.get(), save.getRequestDate(),
+				return new ServiceResponse(save.getId(), dto.getProductId(), user, save.getRequestDate(),
 						save.getProblem(), save.getDescription(), save.getStatus());
 			}
-
+			currentUser.cancel(true);
 		}
 		throw new UnauthorizedAccessException("UNAUTHORIZED_ACCESS");
 
 	}
 
 	@Override
-	@Transactional
+	public List<BatchItemResult> newServiceRequests(String token, List<ServiceRequestDTO> dtos)
+			throws UnauthorizedAccessException, ServiceUnavailableException {
+		ValidatingDTO validator = lookups.validatingToken(token);
+		if (!validator.isValidStatus() || validator.getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
+			throw new UnauthorizedAccessException("UNAUTHORIZED_ACCESS");
+		}
+		// One user lookup for the whole batch and one existence check per distinct product
+		CompletableFuture<Users> currentUser = remoteCallExecutor
+				.submit(() -> lookups.currentUser(token));
+		Map<Long, CompletableFuture<Boolean>> productChecks = new HashMap<>();
+		dtos.stream().map(ServiceRequestDTO::getProductId).distinct()
+				.forEach(productId -> productChecks.put(productId, remoteCallExecutor.submit(() -> {
+					try {
+						return lookups.productExists(token, productId);
+					} catch (FeignClientException e) {
+						// Any other client error reaches the controller with its own status
+						if (e.status() == 404) {
+							return false;
+						}
+						throw e;
+					}
+				})));
+		Set<Long> existingProducts = new HashSet<>();
+		for (Map.Entry<Long, CompletableFuture<Boolean>> check : productChecks.entrySet()) {
+			if (remoteCallExecutor.await(check.getValue(), productTimeoutMs, "product-microservice")) {
+				existingProducts.add(check.getKey());
+			}
+		}
+		Users users = remoteCallExecutor.await(currentUser, userTimeoutMs, "user-microservice");
+		// Remote checks are done before the transaction starts, so no connection is held while they run
+		return transactionTemplate.execute(status -> saveRequests(dtos, existingProducts, users));
+	}
+
+	private List<BatchItemResult> saveRequests(List<ServiceRequestDTO> dtos, Set<Long> existingProducts, Users users) {
+		UserData user = localUser(users);
+		List<BatchItemResult> results = new ArrayList<>(dtos.size());
+		List<ServiceRequest> requests = new ArrayList<>();
+		List<BatchItemResult> created = new ArrayList<>();
+		Date requestDate = new Date();
+		for (int i = 0; i < dtos.size(); i++) {
+			ServiceRequestDTO dto = dtos.get(i);
+			if (!existingProducts.contains(dto.getProductId())) {
+				results.add(new BatchItemResult(i, 404, "PRODUCT_NOT_FOUND", null));
+				continue;
+			}
+			BatchItemResult result = new BatchItemResult(i, 200, "REQUEST_RAISED", null);
+			requests.add(new ServiceRequest(dto.getProductId(), user.getUserId(), requestDate, dto.getProblem(),
+					dto.getDescription(), ServiceStatus.Pending));
+			created.add(result);
+			results.add(result);
+		}
+		// Sequence ids let Hibernate send these as JDBC batches
+		List<ServiceRequest> saved = serviceRequestRepository.saveAll(requests);
+		for (int i = 0; i < saved.size(); i++) {
+			created.get(i).setId(saved.get(i).getId());
+		}
+		listVersions.requestsChanged(saved);
+		searchIndex.requestsSaved(saved);
+		return results;
+	}
+
+	// Create local memory of user data for later usage i.e. contact them etc
+	// If the user does not exists in local memory create else use existing
+	private UserData localUser(Users users) {
+		Optional<UserData> user = userRepository.findById(users.getId());
+		if (user.isPresent()) {
+			return user.get();
+		}
+		return userRepository.save(new UserData(users.getId(), users.getName(), users.getEmail(), users.getMobile()));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public List<ServiceResponse> getMyProductRequests(String token) throws NoRequestFoundException {
-		Gson gson = new GsonBuilder().create();
-		AppProduct[] appProduct = gson.fromJson(gson.toJson(productClient.getMyProducts(token).getPayload()),
-				AppProduct[].class);
-		List<ServiceResponse> result = new ArrayList<>();
-		if (appProduct != null) {
-			Arrays.asList(appProduct).parallelStream().map(ele -> serviceRequestRepository.findByProductId(ele.getId()))
-					.map(ele -> ele.parallelStream()
-							.map(item -> new ServiceResponse(item.getId(), item.getProductId(),
-									userRepository.findById(item.getUserId()).get(), item.getRequestDate(),
-									item.getProblem(), item.getDescription(), item.getStatus()))
-							.collect(Collectors.toList()))
-					.collect(Collectors.toList()).parallelStream().filter(ele -> !ele.isEmpty())
-					.map(ele -> result.addAll(ele)).collect(Collectors.toList());
+		OwnedProducts myProducts = lookups.ownedProducts(token);
+		if (myProducts != null) {
+			// Single join query projecting straight into ServiceResponse, no entities are managed
+			List<ServiceResponse> result = myProducts.isEmpty() ? Collections.emptyList()
+					: lookups.memoize("productRequests:" + token,
+							() -> serviceRequestRepository.findResponsesByProductIdIn(myProducts.asList()));
 			if (result.isEmpty()) {
 				throw new NoRequestFoundException("No data found");
 			}
@@ -118,9 +219,9 @@ public class RequestServiceImpl implements RequestService {
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<ServiceRequest> getAllRequests(String token) throws InvalidDataAccessException {
-		ValidatingDTO validator = authClient.validatingToken(token);
+		ValidatingDTO validator = lookups.validatingToken(token);
 		if (validator.isValidStatus() && validator.getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
 			return serviceRequestRepository.findAll();
 		}
@@ -128,12 +229,12 @@ public class RequestServiceImpl implements RequestService {
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<ServiceRequest> getMyRequest(String token) throws InvalidDataAccessException, NoRequestFoundException {
-		if (authClient.validatingToken(token).isValidStatus()) {
-			Gson gson = new GsonBuilder().create();
-			Users users = gson.fromJson(gson.toJson(userClient.getCurrentUserDetails(token).getPayload()), Users.class);
-			List<ServiceRequest> result = serviceRequestRepository.findByUserId(users.getId());
+		if (lookups.validatingToken(token).isValidStatus()) {
+			Users users = lookups.currentUser(token);
+			List<ServiceRequest> result = lookups.memoize("myRequests:" + users.getId(),
+					() -> serviceRequestRepository.findByUserId(users.getId()));
 			if (result.isEmpty()) {
 				throw new NoRequestFoundException("No requests Raised");
 			}
@@ -142,21 +243,39 @@ public class RequestServiceImpl implements RequestService {
 		throw new InvalidDataAccessException("UNAUTHORIZED_DATA_ACCESS");
 	}
 
+	@Override
+	public String myRequestsTag(String token) throws InvalidDataAccessException {
+		if (lookups.validatingToken(token).isValidStatus()) {
+			return listVersions.userTag(lookups.currentUser(token).getId());
+		}
+		throw new InvalidDataAccessException("UNAUTHORIZED_DATA_ACCESS");
+	}
+
+	@Override
+	public String myProductRequestsTag(String token) {
+		OwnedProducts myProducts = lookups.ownedProducts(token);
+		return myProducts == null ? null : listVersions.productsTag(myProducts);
+	}
+
 	@Override
 	@Transactional
 	public ServiceRequest deleteRequest(String token, long id)
 			throws InvalidDataAccessException, RequestNotExistsException, NoRequestFoundException {
-		if (authClient.validatingToken(token).getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
+		if (lookups.validatingToken(token).getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
 			ServiceRequest serviceRequest = serviceRequestRepository.findById(id).get();
 			serviceRequestRepository.delete(serviceRequest);
+			listVersions.requestChanged(serviceRequest.getUserId(), serviceRequest.getProductId());
+			searchIndex.requestDeleted(id);
 			return serviceRequest;
 		}
-		List<ServiceRequest> requests = getMyRequest(token).parallelStream().filter(ele -> ele.getId() == id)
+		List<ServiceRequest> requests = getMyRequest(token).stream().filter(ele -> ele.getId() == id)
 				.collect(Collectors.toList());
 		if (requests.isEmpty()) {
 			throw new RequestNotExistsException("ITEM REQUESTED TO DELETE IS INVALID");
 		}
 		serviceRequestRepository.delete(requests.get(0));
+		listVersions.requestChanged(requests.get(0).getUserId(), requests.get(0).getProductId());
+		searchIndex.requestDeleted(id);
 		return requests.get(0);
 	}
 
@@ -164,39 +283,44 @@ public class RequestServiceImpl implements RequestService {
 	@Transactional
 	public ServiceRequest updateRequest(String token, long id, ServiceRequestDTO requestDTO)
 			throws InvalidDataAccessException, RequestNotExistsException, NoRequestFoundException {
-		if (authClient.validatingToken(token).getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
+		if (lookups.validatingToken(token).getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
 			ServiceRequest serviceRequest = serviceRequestRepository.findById(id).get();
 			serviceRequest.setDescription(requestDTO.getDescription());
 			serviceRequest.setProblem(requestDTO.getProblem());
-			return serviceRequestRepository.save(serviceRequest);
+			listVersions.requestChanged(serviceRequest.getUserId(), serviceRequest.getProductId());
+			return reindexed(serviceRequestRepository.save(serviceRequest));
 		}
-		Optional<ServiceRequest> myRequest = getMyRequest(token).parallelStream().filter(ele -> ele.getId() == id)
+		Optional<ServiceRequest> myRequest = getMyRequest(token).stream().filter(ele -> ele.getId() == id)
 				.findFirst();
 		if (myRequest.isPresent()) {
 			myRequest.get().setDescription(requestDTO.getDescription());
 			myRequest.get().setProblem(requestDTO.getProblem());
-			return serviceRequestRepository.save(myRequest.get());
+			listVersions.requestChanged(myRequest.get().getUserId(), myRequest.get().getProductId());
+			return reindexed(serviceRequestRepository.save(myRequest.get()));
 		}
 		throw new RequestNotExistsException("ITEM REQUESTED TO UPDATE IS INVALID");
 	}
 
+	// The document also carries the report text, so it is rebuilt with the report if there is one
+	private ServiceRequest reindexed(ServiceRequest request) {
+		searchIndex.requestSaved(request, reportRepository.findByServiceReqId(request.getId()).orElse(null));
+		return request;
+	}
+
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<ServiceRequest> getRequestAsPerUserId(String token, long userId) throws InvalidDataAccessException {
-		ValidatingDTO validator = authClient.validatingToken(token);
+		ValidatingDTO validator = lookups.validatingToken(token);
 		if (validator.isValidStatus()) {
 			if (validator.getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
 				return serviceRequestRepository.findByUserId(userId);
 			}
-			Gson gson = new GsonBuilder().create();
-			AppProduct[] appProduct = gson.fromJson(gson.toJson(productClient.getMyProducts(token).getPayload()),
-					AppProduct[].class);
-			if (appProduct != null) {
-				List<ServiceRequest> result = new ArrayList<>();
-				Arrays.asList(appProduct).parallelStream()
-						.map(ele -> serviceRequestRepository.findByUserIdAndProductId(userId, ele.getId()))
-						.map(ele -> result.addAll(ele));
-				return result;
+			OwnedProducts myProducts = lookups.ownedProducts(token);
+			if (myProducts != null) {
+				if (myProducts.isEmpty()) {
+					return new ArrayList<>();
+				}
+				return serviceRequestRepository.findByUserIdAndProductIdIn(userId, myProducts.asList());
 			}
 		}
 		throw new InvalidDataAccessException("INVALID DATA ACCESS");
@@ -206,7 +330,7 @@ public class RequestServiceImpl implements RequestService {
 	@Transactional
 	public AppServiceReqReport createNewReqReport(String token, AppServiceReqReportDTO requestDTO)
 			throws InvalidDataAccessException, NoRequestFoundException, ServiceAlreadyProvidedException {
-		ValidatingDTO validator = authClient.validatingToken(token);
+		ValidatingDTO validator = lookups.validatingToken(token);
 		if (validator.isValidStatus()) {
 			List<ServiceResponse> myProductRequests = getMyProductRequests(token);
 			if (myProductRequests.isEmpty()) {
@@ -217,7 +341,7 @@ public class RequestServiceImpl implements RequestService {
 			if (findByServiceReqId.isPresent()) {
 				throw new ServiceAlreadyProvidedException("Service already provided for the mentioned request id");
 			}
-			Optional<ServiceResponse> filter = getMyProductRequests(token).parallelStream()
+			Optional<ServiceResponse> filter = getMyProductRequests(token).stream()
 					.filter(ele -> ele.getId() == requestDTO.getServiceReqId()).findFirst();
 			if (filter.isEmpty()) {
 				throw new NoRequestFoundException("No request with the mentioned request id found");
@@ -228,6 +352,8 @@ public class RequestServiceImpl implements RequestService {
 			ServiceRequest serviceRequest = serviceRequestRepository.findById(filter.get().getId()).get();
 			serviceRequest.setStatus(ServiceStatus.Resolved);
 			serviceRequestRepository.save(serviceRequest);
+			listVersions.requestChanged(serviceRequest.getUserId(), serviceRequest.getProductId());
+			searchIndex.requestSaved(serviceRequest, save);
 			return save;
 		}
 		throw new InvalidDataAccessException("INVALID DATA ACCESS");
@@ -235,28 +361,88 @@ public class RequestServiceImpl implements RequestService {
 
 	@Override
 	@Transactional
+	public List<BatchItemResult> createNewReqReports(String token, List<AppServiceReqReportDTO> requestDTOs)
+			throws InvalidDataAccessException, NoRequestFoundException {
+		ValidatingDTO validator = lookups.validatingToken(token);
+		if (!validator.isValidStatus()) {
+			throw new InvalidDataAccessException("INVALID DATA ACCESS");
+		}
+		OwnedProducts myProducts = lookups.ownedProducts(token);
+		if (myProducts == null) {
+			throw new NoRequestFoundException("No product found");
+		}
+		Set<Long> requestIds = requestDTOs.stream().map(AppServiceReqReportDTO::getServiceReqId)
+				.collect(Collectors.toSet());
+		// One ownership query and one duplicate check for the whole batch
+		Map<Long, ServiceRequest> myRequests = myProducts.isEmpty() ? Collections.emptyMap()
+				: serviceRequestRepository.findByIdInAndProductIdIn(requestIds, myProducts.asList()).stream()
+						.collect(Collectors.toMap(ServiceRequest::getId, ele -> ele));
+		Set<Long> myRequestIds = myRequests.keySet();
+		Set<Long> reported = myRequestIds.isEmpty() ? new HashSet<>()
+				: new HashSet<>(reportRepository.findServiceReqIdsByServiceReqIdIn(myRequestIds));
+
+		List<BatchItemResult> results = new ArrayList<>(requestDTOs.size());
+		List<AppServiceReqReport> reports = new ArrayList<>();
+		List<BatchItemResult> created = new ArrayList<>();
+		for (int i = 0; i < requestDTOs.size(); i++) {
+			AppServiceReqReportDTO requestDTO = requestDTOs.get(i);
+			long serviceReqId = requestDTO.getServiceReqId();
+			if (!myRequestIds.contains(serviceReqId)) {
+				results.add(new BatchItemResult(i, 404, "No request with the mentioned request id found", null));
+				continue;
+			}
+			// Adding to reported also rejects a second report for the same request within the batch
+			if (!reported.add(serviceReqId)) {
+				results.add(new BatchItemResult(i, 400, "Service already provided for the mentioned request id", null));
+				continue;
+			}
+			BatchItemResult result = new BatchItemResult(i, 200, "Report Created successfully", null);
+			reports.add(new AppServiceReqReport(serviceReqId, requestDTO.getServiceType(), requestDTO.getActionTaken(),
+					requestDTO.getDiagnosisDetails(), requestDTO.isPaid(), requestDTO.getVisitFees(),
+					requestDTO.getRepairDetails()));
+			created.add(result);
+			results.add(result);
+		}
+		if (!reports.isEmpty()) {
+			List<AppServiceReqReport> saved = reportRepository.saveAll(reports);
+			for (int i = 0; i < saved.size(); i++) {
+				created.get(i).setId(saved.get(i).getId());
+			}
+			serviceRequestRepository.updateStatusByIdIn(ServiceStatus.Resolved,
+					reports.stream().map(AppServiceReqReport::getServiceReqId).collect(Collectors.toList()));
+			listVersions.requestsChanged(reports.stream().map(ele -> myRequests.get(ele.getServiceReqId()))
+					.collect(Collectors.toList()));
+			searchIndex.reportsSaved(reports, myRequests);
+		}
+		return results;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public List<AppServiceReqReport> getReportByUserId(String token, long userId) throws InvalidDataAccessException {
 		List<ServiceRequest> myRequests = getRequestAsPerUserId(token, userId);
-		List<AppServiceReqReport> result = new ArrayList<>();
-		for (ServiceRequest myRequest : myRequests) {
-			result.add(reportRepository.findByServiceReqId(myRequest.getId()).get());
+		if (myRequests.isEmpty()) {
+			return new ArrayList<>();
 		}
-		return result;
+		// Requests that have no report yet are simply absent from the result
+		return reportRepository.findByServiceReqIdIn(
+				myRequests.stream().map(ServiceRequest::getId).collect(Collectors.toList()));
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<AppServiceReqReport> getAllReport(String token)
 			throws InvalidDataAccessException, NoRequestFoundException {
-		ValidatingDTO validator = authClient.validatingToken(token);
+		ValidatingDTO validator = lookups.validatingToken(token);
 		if (validator.isValidStatus()) {
 			if (validator.getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
 				return reportRepository.findAll();
 			}
 			List<AppServiceReqReport> result = new ArrayList<>();
 			try {
-				getMyProductRequests(token).stream().map(ele -> reportRepository.findByServiceReqId(ele.getId()))
-						.filter(ele -> ele.isPresent()).map(ele -> result.add(ele.get())).collect(Collectors.toList());
+				List<Long> requestIds = getMyProductRequests(token).stream().map(ServiceResponse::getId)
+						.collect(Collectors.toList());
+				result.addAll(reportRepository.findByServiceReqIdIn(requestIds));
 			} finally {
 				if (result.isEmpty()) {
 					throw new NoRequestFoundException("No Data found");
@@ -268,23 +454,21 @@ public class RequestServiceImpl implements RequestService {
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public AppServiceReqReport getByReportId(String token, long id)
 			throws InvalidDataAccessException, NoRequestFoundException {
-		ValidatingDTO validator = authClient.validatingToken(token);
+		ValidatingDTO validator = lookups.validatingToken(token);
 		if (validator.isValidStatus()) {
 			if (validator.getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
 				return reportRepository.findById(id).get();
 			} else {
-				List<ServiceResponse> myProductRequests = getMyProductRequests(token);
-				if (myProductRequests.isEmpty()) {
-					return null;
-				}
-				for (ServiceResponse myProductRequest : myProductRequests) {
-					Optional<AppServiceReqReport> dummyRes = reportRepository.findByIdAndServiceReqId(id,
-							myProductRequest.getId());
-					if (dummyRes.isPresent()) {
-						return dummyRes.get();
+				OwnedProducts myProducts = lookups.ownedProducts(token);
+				// The report is only visible if its request is on one of my products; without products none is
+				if (myProducts != null && !myProducts.isEmpty()) {
+					Optional<AppServiceReqReport> report = reportRepository.findByIdAndProductIdIn(id,
+							myProducts.asList());
+					if (report.isPresent()) {
+						return report.get();
 					}
 				}
 			}
@@ -293,10 +477,10 @@ public class RequestServiceImpl implements RequestService {
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public AppServiceReqReport getReportByRequestId(String token, long id) throws InvalidDataAccessException,
 			NoRequestFoundException, UnauthorizedAccessException, RequestNotExistsException {
-		ValidatingDTO validator = authClient.validatingToken(token);
+		ValidatingDTO validator = lookups.validatingToken(token);
 		if (validator.isValidStatus()) {
 			if (validator.getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
 				Optional<AppServiceReqReport> resultAdmin = reportRepository.findByServiceReqId(id);
@@ -305,13 +489,13 @@ public class RequestServiceImpl implements RequestService {
 				}
 				throw new RequestNotExistsException("Invalid id searched");
 			}
-			Optional<ServiceRequest> checkifRequestWasMine = getMyRequest(token).parallelStream()
+			Optional<ServiceRequest> checkifRequestWasMine = getMyRequest(token).stream()
 					.filter(ele -> ele.getId() == id).findFirst();
 			AppServiceReqReport result = null;
 			if (checkifRequestWasMine.isPresent()) {
 				result = reportRepository.findByServiceReqId(id).get();
 			} else {
-				Optional<AppServiceReqReport> collect = getAllReport(token).parallelStream()
+				Optional<AppServiceReqReport> collect = getAllReport(token).stream()
 						.filter(ele -> ele.getServiceReqId() == id).findFirst();
 				if (collect.isPresent()) {
 					result = reportRepository.findByServiceReqId(id).get();
@@ -325,4 +509,91 @@ public class RequestServiceImpl implements RequestService {
 		throw new InvalidDataAccessException("INVALID DATA ACCESS");
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPage<ServiceRequest> getRequestPage(String token, long after, Integer size)
+			throws InvalidDataAccessException {
+		ValidatingDTO validator = lookups.validatingToken(token);
+		if (validator.isValidStatus() && validator.getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
+			int pageSize = pageSize(size);
+			return toPage(serviceRequestRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, pageSize)),
+					pageSize, ServiceRequest::getId);
+		}
+		throw new InvalidDataAccessException("UNAUTHORIZED_DATA_ACCESS");
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPage<AppServiceReqReport> getReportPage(String token, long after, Integer size)
+			throws InvalidDataAccessException, NoRequestFoundException {
+		ValidatingDTO validator = lookups.validatingToken(token);
+		if (validator.isValidStatus()) {
+			int pageSize = pageSize(size);
+			if (validator.getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
+				return toPage(reportRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, pageSize)),
+						pageSize, AppServiceReqReport::getId);
+			}
+			OwnedProducts myProducts = lookups.ownedProducts(token);
+			if (myProducts == null) {
+				throw new NoRequestFoundException("No product found");
+			}
+			if (myProducts.isEmpty()) {
+				return new CursorPage<>(Collections.emptyList(), null);
+			}
+			return toPage(reportRepository.findPageByProductIdIn(myProducts.asList(), after, PageRequest.of(0, pageSize)),
+					pageSize, AppServiceReqReport::getId);
+		}
+		throw new InvalidDataAccessException("INVALID DATA ACCESS");
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPage<SearchHit> searchRequests(String token, String text, int offset, Integer size)
+			throws InvalidDataAccessException, IOException {
+		ValidatingDTO validator = lookups.validatingToken(token);
+		if (!validator.isValidStatus()) {
+			throw new InvalidDataAccessException("INVALID DATA ACCESS");
+		}
+		int pageSize = pageSize(size);
+		CursorPage<SearchMatch> matches;
+		if (validator.getUserRole().equalsIgnoreCase("ROLE_ADMIN")) {
+			matches = searchIndex.search(text, offset, pageSize);
+		} else {
+			// Same visibility as getReportByRequestId: requests I raised and requests on my products
+			OwnedProducts myProducts = lookups.ownedProducts(token);
+			matches = searchIndex.searchOwned(text, lookups.currentUser(token).getId(),
+					myProducts == null ? Collections.<Long>emptyList() : myProducts.asList(), offset, pageSize);
+		}
+		List<Long> ids = matches.getItems().stream().map(SearchMatch::getRequestId).collect(Collectors.toList());
+		if (ids.isEmpty()) {
+			return new CursorPage<>(Collections.emptyList(), matches.getNextCursor());
+		}
+		Map<Long, ServiceRequest> requests = serviceRequestRepository.findAllById(ids).stream()
+				.collect(Collectors.toMap(ServiceRequest::getId, ele -> ele));
+		Map<Long, AppServiceReqReport> reports = reportRepository.findByServiceReqIdIn(ids).stream()
+				.collect(Collectors.toMap(AppServiceReqReport::getServiceReqId, ele -> ele));
+		List<SearchHit> hits = new ArrayList<>(ids.size());
+		for (SearchMatch match : matches.getItems()) {
+			ServiceRequest request = requests.get(match.getRequestId());
+			// Missing when deleted after the search ran
+			if (request != null) {
+				hits.add(new SearchHit(match.getScore(), request, reports.get(request.getId())));
+			}
+		}
+		return new CursorPage<>(hits, matches.getNextCursor());
+	}
+
+	private int pageSize(Integer size) {
+		if (size == null) {
+			return defaultPageSize;
+		}
+		return Math.max(1, Math.min(size, maxPageSize));
+	}
+
+	// A full page means there may be more rows after its last id
+	private static <T> CursorPage<T> toPage(List<T> items, int pageSize, ToLongFunction<T> id) {
+		Long nextCursor = items.size() == pageSize ? id.applyAsLong(items.get(items.size() - 1)) : null;
+		return new CursorPage<>(items, nextCursor);
+	}
+
 }
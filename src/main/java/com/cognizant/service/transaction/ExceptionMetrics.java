@@ -0,0 +1,32 @@
+package com.cognizant.service.transaction;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts exceptions leaving the service layer by type. Controllers turn most of
+ * them into responses, so this is the one place each is seen exactly once.
+ */
+@Aspect
+@Component
+public class ExceptionMetrics {
+
+	@Autowired
+	ObjectProvider<MeterRegistry> meterRegistry;
+
+	@AfterThrowing(pointcut = "within(@org.springframework.stereotype.Service *) && within(com.cognizant.service..*)", throwing = "e")
+	public void countException(JoinPoint joinPoint, Throwable e) {
+		meterRegistry.getObject()
+				.counter("service.exceptions", "exception", e.getClass().getSimpleName(), "domain",
+						String.valueOf(e.getClass().getPackageName().equals("com.cognizant.service.exception")),
+						"method", joinPoint.getSignature().getName())
+				.increment();
+	}
+
+}
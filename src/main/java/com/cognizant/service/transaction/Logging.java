@@ -1,18 +1,41 @@
 package com.cognizant.service.transaction;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.After;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 @Aspect
 @Component
 @Slf4j
 public class Logging {
+
+	// Resolved lazily, aspects are created before the registry is fully configured
+	@Autowired
+	ObjectProvider<MeterRegistry> meterRegistry;
+
+	// Fraction of calls that are also written to the log, timings are always recorded
+	@Value("${service.logging.sample-rate:0.01}")
+	double sampleRate;
+
+	private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
 	
 	@Pointcut("within(@org.springframework.stereotype.Repository *)"
 			+ " || within(@org.springframework.stereotype.Service *)"
@@ -34,10 +57,26 @@ public class Logging {
 				joinPoint.getSignature().getName(), e.getCause() != null ? e.getCause() : "NULL");
 	}
 
-	@After("springPointCut() && applicationPointcut()")
-	public void logAfterCalling(JoinPoint joinPoint) {
-		log.info("Called Application for " + joinPoint.getSignature().getDeclaringTypeName() + "."
-				+ joinPoint.getSignature().getName());
+	@Around("springPointCut() && applicationPointcut()")
+	public Object timeCall(ProceedingJoinPoint joinPoint) throws Throwable {
+		long start = System.nanoTime();
+		try {
+			return joinPoint.proceed();
+		} finally {
+			long elapsed = System.nanoTime() - start;
+			Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+			timers.computeIfAbsent(method, this::timer).record(elapsed, TimeUnit.NANOSECONDS);
+			if (log.isDebugEnabled() || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+				log.info("Called {}.{} in {} us", method.getDeclaringClass().getSimpleName(), method.getName(),
+						TimeUnit.NANOSECONDS.toMicros(elapsed));
+			}
+		}
+	}
+
+	private Timer timer(Method method) {
+		return Timer.builder("service.method.duration").description("Time spent in application methods")
+				.tag("class", method.getDeclaringClass().getSimpleName()).tag("method", method.getName())
+				.publishPercentileHistogram().register(meterRegistry.getObject());
 	}
 
 }
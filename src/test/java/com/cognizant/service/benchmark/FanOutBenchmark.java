@@ -0,0 +1,112 @@
+package com.cognizant.service.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cognizant.service.client.RemoteCallExecutor;
+import com.cognizant.service.exception.ServiceUnavailableException;
+
+/**
+ * Fan-out of blocking calls from several concurrent request threads: the old
+ * parallelStream on the common ForkJoinPool against RemoteCallExecutor in
+ * bounded and virtual mode. Virtual mode falls back to the bounded pool on
+ * JDKs without virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class FanOutBenchmark {
+
+	@Param({ "16" })
+	int width;
+
+	@Param({ "1" })
+	long callMillis;
+
+	private RemoteCallExecutor bounded;
+	private RemoteCallExecutor virtual;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		bounded = executor(RemoteCallExecutor.MODE_BOUNDED);
+		virtual = executor(RemoteCallExecutor.MODE_VIRTUAL);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		ReflectionTestUtils.invokeMethod(bounded, "shutdown");
+		ReflectionTestUtils.invokeMethod(virtual, "shutdown");
+	}
+
+	@Benchmark
+	public List<Integer> commonPoolParallelStream() {
+		return IntStream.range(0, width).parallel().mapToObj(this::blockingCall).collect(Collectors.toList());
+	}
+
+	@Benchmark
+	public List<Integer> boundedPool() throws ServiceUnavailableException {
+		return fanOut(bounded);
+	}
+
+	@Benchmark
+	public List<Integer> virtualThreads() throws ServiceUnavailableException {
+		return fanOut(virtual);
+	}
+
+	private List<Integer> fanOut(RemoteCallExecutor executor) throws ServiceUnavailableException {
+		List<CompletableFuture<Integer>> calls = new ArrayList<>(width);
+		for (int i = 0; i < width; i++) {
+			int input = i;
+			calls.add(executor.submit(() -> blockingCall(input)));
+		}
+		// Results are gathered on the calling thread, no shared list is written concurrently
+		List<Integer> results = new ArrayList<>(width);
+		for (CompletableFuture<Integer> call : calls) {
+			results.add(executor.await(call, 10_000, "benchmark"));
+		}
+		return results;
+	}
+
+	private Integer blockingCall(int input) {
+		try {
+			Thread.sleep(callMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return input;
+	}
+
+	private RemoteCallExecutor executor(String mode) {
+		RemoteCallExecutor executor = new RemoteCallExecutor();
+		ReflectionTestUtils.setField(executor, "mode", mode);
+		ReflectionTestUtils.setField(executor, "poolSize", 32);
+		ReflectionTestUtils.setField(executor, "queueCapacity", 512);
+		ReflectionTestUtils.invokeMethod(executor, "init");
+		return executor;
+	}
+
+}
@@ -0,0 +1,128 @@
+package com.cognizant.service.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookup latency of the repository filters on a seeded H2 database, with and
+ * without the indexes declared on ServiceRequest and AppServiceReqReport. The
+ * tables mirror the column names Hibernate generates for the entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IndexedLookupBenchmark {
+
+	private static final int PRODUCTS = 5000;
+	private static final int USERS = 20000;
+
+	@Param({ "1000000" })
+	int rows;
+
+	@Param({ "false", "true" })
+	boolean indexed;
+
+	private Connection connection;
+	private PreparedStatement byProduct;
+	private PreparedStatement byUser;
+	private PreparedStatement byUserAndProduct;
+	private PreparedStatement reportByRequest;
+
+	@Setup(Level.Trial)
+	public void seed() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:h2:mem:lookup" + indexed + ";DB_CLOSE_DELAY=-1", "sa", "sa");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("create table service_request (id bigint primary key, product_id bigint not null, "
+					+ "user_id bigint not null, request_date timestamp, problem varchar(255), "
+					+ "description varchar(255), status integer)");
+			statement.execute("create table app_service_req_report (id bigint primary key, "
+					+ "service_req_id bigint not null, report_date timestamp, service_type integer, "
+					+ "action_taken varchar(255), diagnosis_details varchar(255), paid boolean not null, "
+					+ "visit_fees double not null, repair_details varchar(255))");
+			statement.execute("insert into service_request select x, mod(x, " + PRODUCTS + "), mod(x * 7, " + USERS
+					+ "), current_timestamp, 'problem ' || x, 'description ' || x, mod(x, 2) from system_range(1, "
+					+ rows + ")");
+			statement.execute("insert into app_service_req_report select x, x * 2, current_timestamp, 1, 'action', "
+					+ "'diagnosis', true, 100, 'repair' from system_range(1, " + rows / 2 + ")");
+			if (indexed) {
+				statement.execute("create index idx_service_request_product on service_request (product_id)");
+				statement.execute(
+						"create index idx_service_request_user_product on service_request (user_id, product_id)");
+				statement.execute(
+						"create unique index uk_report_service_request on app_service_req_report (service_req_id)");
+			}
+		}
+		byProduct = connection.prepareStatement("select * from service_request where product_id = ?");
+		byUser = connection.prepareStatement("select * from service_request where user_id = ?");
+		byUserAndProduct = connection
+				.prepareStatement("select * from service_request where user_id = ? and product_id = ?");
+		reportByRequest = connection.prepareStatement("select * from app_service_req_report where service_req_id = ?");
+	}
+
+	@TearDown(Level.Trial)
+	public void drop() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("drop all objects");
+		}
+		connection.close();
+	}
+
+	@Benchmark
+	public int findByProductId() throws SQLException {
+		byProduct.setLong(1, ThreadLocalRandom.current().nextInt(PRODUCTS));
+		return count(byProduct);
+	}
+
+	@Benchmark
+	public int findByUserId() throws SQLException {
+		byUser.setLong(1, ThreadLocalRandom.current().nextInt(USERS));
+		return count(byUser);
+	}
+
+	@Benchmark
+	public int findByUserIdAndProductId() throws SQLException {
+		byUserAndProduct.setLong(1, ThreadLocalRandom.current().nextInt(USERS));
+		byUserAndProduct.setLong(2, ThreadLocalRandom.current().nextInt(PRODUCTS));
+		return count(byUserAndProduct);
+	}
+
+	@Benchmark
+	public int findReportByServiceReqId() throws SQLException {
+		reportByRequest.setLong(1, ThreadLocalRandom.current().nextInt(1, rows + 1));
+		return count(reportByRequest);
+	}
+
+	private static int count(PreparedStatement statement) throws SQLException {
+		int count = 0;
+		try (ResultSet resultSet = statement.executeQuery()) {
+			while (resultSet.next()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+}
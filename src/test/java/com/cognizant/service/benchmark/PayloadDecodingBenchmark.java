@@ -0,0 +1,74 @@
+package com.cognizant.service.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cognizant.service.dto.AppProduct;
+import com.cognizant.service.dto.ClientResponse;
+import com.cognizant.service.model.Message;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Compares the old Message + Gson toJson/fromJson round trip with decoding a
+ * product-microservice body straight into the typed envelope. Run with
+ * {@code -prof gc} (the benchmark profile does) to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadDecodingBenchmark {
+
+	@Param({ "10", "200" })
+	int products;
+
+	private ObjectMapper mapper;
+	private JavaType productListType;
+	private byte[] body;
+
+	@Setup
+	public void setUp() throws IOException {
+		mapper = new ObjectMapper();
+		productListType = mapper.getTypeFactory().constructParametricType(ClientResponse.class,
+				mapper.getTypeFactory().constructCollectionType(List.class, AppProduct.class));
+		List<AppProduct> payload = new ArrayList<>();
+		for (int i = 0; i < products; i++) {
+			payload.add(new AppProduct(i, "Product " + i, "Make", "Model " + i, 1000 + i, null, "owner@test.com",
+					"http://localhost/img/" + i));
+		}
+		body = mapper.writeValueAsBytes(new Message(200, "DATA_FOUND", payload));
+	}
+
+	@Benchmark
+	public AppProduct[] gsonRoundTrip() throws IOException {
+		Message message = mapper.readValue(body, Message.class);
+		Gson gson = new GsonBuilder().create();
+		return gson.fromJson(gson.toJson(message.getPayload()), AppProduct[].class);
+	}
+
+	@Benchmark
+	public List<AppProduct> typedDecode() throws IOException {
+		ClientResponse<List<AppProduct>> response = mapper.readValue(body, productListType);
+		return response.getPayload();
+	}
+
+}
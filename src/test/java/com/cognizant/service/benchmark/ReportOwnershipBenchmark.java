@@ -0,0 +1,118 @@
+package com.cognizant.service.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * getByReportId for a technician owning {@code requests} service requests: the
+ * old list-then-probe loop (one findByIdAndServiceReqId per request until a
+ * match) against the single ownership join query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportOwnershipBenchmark {
+
+	private static final int PRODUCTS = 50;
+
+	@Param({ "10000" })
+	int requests;
+
+	private Connection connection;
+	private String productIds;
+	private PreparedStatement myRequests;
+	private PreparedStatement byIdAndServiceReqId;
+	private PreparedStatement byIdAndProductIds;
+
+	@Setup(Level.Trial)
+	public void seed() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:h2:mem:ownership;DB_CLOSE_DELAY=-1", "sa", "sa");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("create table service_request (id bigint primary key, product_id bigint not null, "
+					+ "user_id bigint not null, problem varchar(255))");
+			statement.execute("create table app_service_req_report (id bigint primary key, "
+					+ "service_req_id bigint not null, diagnosis_details varchar(255))");
+			statement.execute("create index idx_service_request_product on service_request (product_id)");
+			statement.execute(
+					"create unique index uk_report_service_request on app_service_req_report (service_req_id)");
+			statement.execute("insert into service_request select x, mod(x, " + PRODUCTS
+					+ ") + 1, x, 'problem' from system_range(1, " + requests + ")");
+			statement.execute("insert into app_service_req_report select x, x, 'diagnosis' from system_range(1, "
+					+ requests + ")");
+		}
+		StringBuilder ids = new StringBuilder();
+		for (int i = 1; i <= PRODUCTS; i++) {
+			ids.append(i == 1 ? "" : ",").append(i);
+		}
+		productIds = ids.toString();
+		myRequests = connection.prepareStatement("select id from service_request where product_id in (" + productIds + ")");
+		byIdAndServiceReqId = connection
+				.prepareStatement("select * from app_service_req_report where id = ? and service_req_id = ?");
+		byIdAndProductIds = connection.prepareStatement("select rep.* from app_service_req_report rep "
+				+ "join service_request r on r.id = rep.service_req_id where rep.id = ? and r.product_id in ("
+				+ productIds + ")");
+	}
+
+	@TearDown(Level.Trial)
+	public void drop() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("drop all objects");
+		}
+		connection.close();
+	}
+
+	@Benchmark
+	public long probeLoop() throws SQLException {
+		long reportId = ThreadLocalRandom.current().nextInt(1, requests + 1);
+		List<Long> requestIds = new ArrayList<>();
+		try (ResultSet resultSet = myRequests.executeQuery()) {
+			while (resultSet.next()) {
+				requestIds.add(resultSet.getLong(1));
+			}
+		}
+		for (Long requestId : requestIds) {
+			byIdAndServiceReqId.setLong(1, reportId);
+			byIdAndServiceReqId.setLong(2, requestId);
+			try (ResultSet resultSet = byIdAndServiceReqId.executeQuery()) {
+				if (resultSet.next()) {
+					return resultSet.getLong(1);
+				}
+			}
+		}
+		return -1;
+	}
+
+	@Benchmark
+	public long joinQuery() throws SQLException {
+		byIdAndProductIds.setLong(1, ThreadLocalRandom.current().nextInt(1, requests + 1));
+		try (ResultSet resultSet = byIdAndProductIds.executeQuery()) {
+			return resultSet.next() ? resultSet.getLong(1) : -1;
+		}
+	}
+
+}
@@ -0,0 +1,171 @@
+package com.cognizant.service.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.cognizant.service.ServiceMicroserviceApplication;
+import com.cognizant.service.dto.AppServiceReqReportDTO;
+import com.cognizant.service.dto.ServiceRequestDTO;
+import com.cognizant.service.exception.InvalidDataAccessException;
+import com.cognizant.service.exception.NoRequestFoundException;
+import com.cognizant.service.exception.RequestNotExistsException;
+import com.cognizant.service.exception.ServiceAlreadyProvidedException;
+import com.cognizant.service.exception.ServiceUnavailableException;
+import com.cognizant.service.exception.UnauthorizedAccessException;
+import com.cognizant.service.model.AppServiceReqReport;
+import com.cognizant.service.model.ServiceRequest;
+import com.cognizant.service.model.ServiceResponse;
+import com.cognizant.service.model.ServiceStatus;
+import com.cognizant.service.model.ServiceType;
+import com.cognizant.service.model.UserData;
+import com.cognizant.service.repository.ServiceRequestReportRepository;
+import com.cognizant.service.repository.ServiceRequestRepository;
+import com.cognizant.service.repository.UserDataRepository;
+import com.cognizant.service.service.RequestService;
+
+/**
+ * Drives the RequestService hot paths through the real Spring context, with
+ * the downstream microservices replaced by {@link StubClients} and an H2
+ * database seeded with {@code requests} service requests spread over
+ * {@code products} technician products and {@code users} customers. Every
+ * other request has a report.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmark -DskipTests verify -Dbenchmark.include=RequestServiceBenchmark};
+ * the profile adds the gc profiler for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RequestServiceBenchmark {
+
+	@Param({ "1000", "10000" })
+	int requests;
+
+	@Param({ "50" })
+	int products;
+
+	@Param({ "100" })
+	int users;
+
+	private ConfigurableApplicationContext context;
+	private RequestService service;
+	private ServiceRequestRepository serviceRequestRepository;
+	private long customerId;
+	private List<Long> customerReportedRequests;
+
+	@Setup(Level.Trial)
+	public void startContext() {
+		context = new SpringApplicationBuilder(ServiceMicroserviceApplication.class)
+				.properties("server.port=0", "eureka.client.enabled=false",
+						"spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1", "logging.level.root=WARN",
+						"service.logging.sample-rate=0")
+				.run();
+		StubClients.install(context, products);
+		service = context.getBean(RequestService.class);
+		serviceRequestRepository = context.getBean(ServiceRequestRepository.class);
+		seed();
+	}
+
+	@TearDown(Level.Trial)
+	public void stopContext() {
+		context.close();
+	}
+
+	private void seed() {
+		UserDataRepository userRepository = context.getBean(UserDataRepository.class);
+		ServiceRequestReportRepository reportRepository = context.getBean(ServiceRequestReportRepository.class);
+		List<UserData> customers = new ArrayList<>();
+		for (long id = 1; id <= users; id++) {
+			customers.add(new UserData(id, "User " + id, StubClients.customer(id) + "@test.com", 9000000000L + id));
+		}
+		userRepository.saveAll(customers);
+
+		List<ServiceRequest> rows = new ArrayList<>(requests);
+		Date now = new Date();
+		for (int i = 0; i < requests; i++) {
+			rows.add(new ServiceRequest(i % products + 1, i % users + 1, now, "no display " + i,
+					"screen stays black after boot", ServiceStatus.Pending));
+		}
+		List<ServiceRequest> saved = serviceRequestRepository.saveAll(rows);
+
+		customerId = 1;
+		customerReportedRequests = new ArrayList<>();
+		List<AppServiceReqReport> reports = new ArrayList<>();
+		for (int i = 0; i < saved.size(); i += 2) {
+			ServiceRequest request = saved.get(i);
+			reports.add(new AppServiceReqReport(request.getId(), ServiceType.REPAIR, "Replaced panel",
+					"Loose display cable", true, 500, "Cable reseated"));
+			if (request.getUserId() == customerId) {
+				customerReportedRequests.add(request.getId());
+			}
+		}
+		reportRepository.saveAll(reports);
+	}
+
+	@Benchmark
+	public List<ServiceResponse> getMyProductRequests() throws NoRequestFoundException {
+		return service.getMyProductRequests(StubClients.TECHNICIAN);
+	}
+
+	@Benchmark
+	public AppServiceReqReport getReportByRequestId() throws InvalidDataAccessException, NoRequestFoundException,
+			UnauthorizedAccessException, RequestNotExistsException {
+		long requestId = customerReportedRequests
+				.get(ThreadLocalRandom.current().nextInt(customerReportedRequests.size()));
+		return service.getReportByRequestId(StubClients.customer(customerId), requestId);
+	}
+
+	@Benchmark
+	public ServiceResponse newServiceRequest() throws UnauthorizedAccessException, ServiceUnavailableException {
+		long productId = ThreadLocalRandom.current().nextInt(products) + 1;
+		return service.newServiceRequest(StubClients.customer(customerId),
+				new ServiceRequestDTO(productId, "no display", "screen stays black after boot"));
+	}
+
+	@Benchmark
+	public AppServiceReqReport createNewReqReport(PendingRequest pending)
+			throws InvalidDataAccessException, NoRequestFoundException, ServiceAlreadyProvidedException {
+		return service.createNewReqReport(StubClients.TECHNICIAN, new AppServiceReqReportDTO(pending.id,
+				ServiceType.REPAIR, "Cleaned fan", "Dust in heatsink", true, 300, "Fan cleaned"));
+	}
+
+	/**
+	 * A fresh request without a report for every createNewReqReport call, kept
+	 * out of the shared state so the read benchmarks don't pay for the insert.
+	 */
+	@State(Scope.Thread)
+	public static class PendingRequest {
+
+		long id;
+
+		@Setup(Level.Invocation)
+		public void insert(RequestServiceBenchmark benchmark) {
+			id = benchmark.serviceRequestRepository.save(new ServiceRequest(1, benchmark.customerId, new Date(),
+					"overheating", "shuts down after ten minutes", ServiceStatus.Pending)).getId();
+		}
+	}
+
+}
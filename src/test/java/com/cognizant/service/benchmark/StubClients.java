@@ -0,0 +1,84 @@
+package com.cognizant.service.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cognizant.service.cache.ProductCache;
+import com.cognizant.service.cache.TokenValidationCache;
+import com.cognizant.service.cache.UserDetailsCache;
+import com.cognizant.service.client.AuthClient;
+import com.cognizant.service.client.ProductClient;
+import com.cognizant.service.client.UserClient;
+import com.cognizant.service.dto.AppProduct;
+import com.cognizant.service.dto.ClientResponse;
+import com.cognizant.service.dto.Users;
+import com.cognizant.service.dto.ValidatingDTO;
+
+/**
+ * In-memory stand-ins for the auth, user and product microservices. Tokens
+ * encode the caller: "admin", "tech" (owns products 1..products) or "user-{id}".
+ */
+public final class StubClients {
+
+	public static final String ADMIN = "admin";
+	public static final String TECHNICIAN = "tech";
+	public static final long TECHNICIAN_ID = 1_000_000L;
+
+	private StubClients() {
+	}
+
+	public static String customer(long userId) {
+		return "user-" + userId;
+	}
+
+	/**
+	 * Swaps the Feign clients held by the application beans for the stubs. The
+	 * services use field injection, so this works on a started context.
+	 */
+	public static void install(ApplicationContext context, int products) {
+		AuthClient auth = StubClients::validate;
+		UserClient users = StubClients::currentUser;
+		ProductClient productClient = new StubProductClient(products);
+		ReflectionTestUtils.setField(context.getBean(TokenValidationCache.class), "authClient", auth);
+		ReflectionTestUtils.setField(context.getBean(ProductCache.class), "productClient", productClient);
+		ReflectionTestUtils.setField(context.getBean(UserDetailsCache.class), "userClient", users);
+	}
+
+	private static ValidatingDTO validate(String token) {
+		return new ValidatingDTO(true, ADMIN.equals(token) ? "ROLE_ADMIN" : "ROLE_USER", token + "@test.com");
+	}
+
+	private static ClientResponse<Users> currentUser(String token) {
+		long id = token.startsWith("user-") ? Long.parseLong(token.substring(5)) : TECHNICIAN_ID;
+		return new ClientResponse<>(200, "DATA_FOUND", new Users(id, "User " + id, token + "@test.com",
+				9000000000L + id, new Date(), null, "Other", "ROLE_USER", true));
+	}
+
+	private static final class StubProductClient implements ProductClient {
+
+		private final List<AppProduct> owned = new ArrayList<>();
+
+		private StubProductClient(int products) {
+			for (long id = 1; id <= products; id++) {
+				owned.add(new AppProduct(id, "Product " + id, "Make", "Model", 1000, new Date(), TECHNICIAN, null));
+			}
+		}
+
+		@Override
+		public ClientResponse<AppProduct> getProductById(String token, Long id) {
+			return new ClientResponse<>(200, "DATA_FOUND", owned.get((int) ((id - 1) % owned.size())));
+		}
+
+		@Override
+		public ClientResponse<List<AppProduct>> getMyProducts(String token) {
+			List<AppProduct> products = TECHNICIAN.equals(token) ? owned : Collections.emptyList();
+			return new ClientResponse<>(200, "DATA_FOUND", products);
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.cognizant.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class ListVersionsTest {
+
+	ListVersions versions = new ListVersions();
+
+	@Test
+	void testUserTagChangesOnlyForThatUser() {
+		String mine = versions.userTag(1);
+		String other = versions.userTag(2);
+		versions.requestChanged(1, 10);
+		assertNotEquals(versions.userTag(1), mine);
+		assertEquals(versions.userTag(2), other);
+	}
+
+	@Test
+	void testProductsTagChangesWithVersionsAndOwnedSet() {
+		OwnedProducts owned = new OwnedProducts(new long[] { 10, 11 });
+		String tag = versions.productsTag(owned);
+		versions.requestChanged(1, 12);
+		assertEquals(versions.productsTag(owned), tag);
+
+		versions.requestChanged(1, 11);
+		String changed = versions.productsTag(owned);
+		assertNotEquals(changed, tag);
+		assertNotEquals(versions.productsTag(new OwnedProducts(new long[] { 10, 11, 12 })), changed);
+	}
+
+	@Test
+	void testProductsTagDiffersForSetsWithTheSameIdHash() {
+		String tag = versions.productsTag(new OwnedProducts(new long[] { 1, 63 }));
+		assertNotEquals(tag, versions.productsTag(new OwnedProducts(new long[] { 2, 32 })));
+	}
+
+}
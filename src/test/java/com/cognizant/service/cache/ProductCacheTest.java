@@ -0,0 +1,99 @@
+package com.cognizant.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.cognizant.service.client.ProductClient;
+import com.cognizant.service.client.RemoteCallGuard;
+import com.cognizant.service.dto.AppProduct;
+import com.cognizant.service.dto.ClientResponse;
+import com.cognizant.service.dto.ValidatingDTO;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ProductCacheTest {
+
+	ProductCache cache = new ProductCache();
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	Supplier<List<AppProduct>> products = () -> Collections.singletonList(product(7));
+
+	@BeforeEach
+	void setUp() {
+		TokenValidationCache tokenCache = new TokenValidationCache();
+		tokenCache.authClient = token -> new ValidatingDTO(true, "ROLE_USER", "tech@test.com");
+		tokenCache.cacheMetrics = new CacheMetrics();
+		tokenCache.init();
+		RemoteCallGuard guard = new RemoteCallGuard();
+		guard.bindTo(registry);
+		cache.tokenCache = tokenCache;
+		cache.guard = guard;
+		cache.cacheMetrics = new CacheMetrics();
+		cache.productClient = new ProductClient() {
+
+			@Override
+			public ClientResponse<AppProduct> getProductById(String token, Long id) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public ClientResponse<List<AppProduct>> getMyProducts(String token) {
+				return new ClientResponse<>(200, "OK", products.get());
+			}
+		};
+		// Every lookup goes to product-microservice, the stale copy stays
+		cache.ownerMaxSize = 100;
+		cache.ownerTtlSeconds = 0;
+		cache.ownerStaleSeconds = 1800;
+		cache.existsMaxSize = 100;
+		cache.existsTtlSeconds = 600;
+		cache.existsStaleSeconds = 1800;
+		cache.init();
+	}
+
+	@Test
+	void testFreshAnswerWhileProductServiceIsHealthy() {
+		cache.ownedProducts("token");
+		products = () -> Collections.singletonList(product(8));
+		assertEquals(Collections.singletonList(8L), cache.ownedProducts("token").asList());
+		assertEquals(0, staleServed());
+	}
+
+	@Test
+	void testStaleAnswerOnlyWhileProductServiceIsUnavailable() {
+		cache.ownedProducts("token");
+		products = () -> {
+			throw BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults(RemoteCallGuard.PRODUCT));
+		};
+		assertEquals(Collections.singletonList(7L), cache.ownedProducts("token").asList());
+		assertEquals(1, staleServed());
+
+		products = () -> {
+			throw new IllegalStateException("bad answer");
+		};
+		assertThrows(IllegalStateException.class, () -> cache.ownedProducts("token"));
+		assertEquals(1, staleServed());
+	}
+
+	private double staleServed() {
+		FunctionCounter counter = registry.find("service.remote.stale")
+				.tag("client", RemoteCallGuard.PRODUCT).functionCounter();
+		return counter == null ? 0 : counter.count();
+	}
+
+	private static AppProduct product(long id) {
+		AppProduct product = new AppProduct();
+		product.setId(id);
+		return product;
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.cognizant.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class RequestScopedLookupsTest {
+
+	RequestScopedLookups lookups = new RequestScopedLookups();
+	AtomicInteger calls = new AtomicInteger();
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void testLookupRunsOncePerRequest() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		lookups.memoize("key", calls::incrementAndGet);
+		lookups.memoize("key", calls::incrementAndGet);
+		assertEquals(calls.get(), 1);
+
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		lookups.memoize("key", calls::incrementAndGet);
+		assertEquals(calls.get(), 2);
+	}
+
+	@Test
+	void testNestedLookupsAreMemoized() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		Integer outer = lookups.memoize("outer", () -> lookups.memoize("inner", calls::incrementAndGet) + 10);
+		assertEquals(outer, 11);
+		assertEquals((Integer) lookups.memoize("inner", calls::incrementAndGet), 1);
+	}
+
+	@Test
+	void testNoRequestBoundCallsThrough() {
+		lookups.memoize("key", calls::incrementAndGet);
+		lookups.memoize("key", calls::incrementAndGet);
+		assertEquals(calls.get(), 2);
+	}
+
+}
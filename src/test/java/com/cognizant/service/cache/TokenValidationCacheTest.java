@@ -0,0 +1,73 @@
+package com.cognizant.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.cognizant.service.dto.ValidatingDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class TokenValidationCacheTest {
+
+	TokenValidationCache cache = new TokenValidationCache();
+	AtomicInteger remoteCalls = new AtomicInteger();
+	boolean validStatus = true;
+
+	@BeforeEach
+	void setUp() {
+		cache.authClient = token -> {
+			remoteCalls.incrementAndGet();
+			return new ValidatingDTO(validStatus, "ROLE_USER", "test@test.com");
+		};
+		cache.objectMapper = new ObjectMapper();
+		cache.cacheMetrics = new CacheMetrics();
+		cache.maxSize = 100;
+		cache.ttlSeconds = 300;
+		cache.init();
+	}
+
+	@Test
+	void testRepeatedValidationIsCached() {
+		String token = jwt(Instant.now().getEpochSecond() + 600);
+		cache.validatingToken(token);
+		cache.validatingToken(token);
+		cache.validatingToken(token);
+
+		assertEquals(remoteCalls.get(), 1);
+		assertEquals(cache.stats().hitCount(), 2);
+		assertEquals(cache.stats().missCount(), 1);
+	}
+
+	@Test
+	void testExpiredTokenIsNotCached() {
+		String token = jwt(Instant.now().getEpochSecond() - 10);
+		cache.validatingToken(token);
+		cache.validatingToken(token);
+
+		assertEquals(remoteCalls.get(), 2);
+	}
+
+	@Test
+	void testInvalidTokenIsNotCached() {
+		validStatus = false;
+		String token = jwt(Instant.now().getEpochSecond() + 600);
+		cache.validatingToken(token);
+		cache.validatingToken(token);
+
+		assertEquals(remoteCalls.get(), 2);
+	}
+
+	private static String jwt(long exp) {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		String header = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+		String claims = encoder.encodeToString(("{\"sub\":\"test\",\"exp\":" + exp + "}").getBytes(StandardCharsets.UTF_8));
+		return "Bearer " + header + "." + claims + ".signature";
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.cognizant.service.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import javax.servlet.ServletRequestEvent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import feign.RequestTemplate;
+import feign.Target;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RemoteCallCounterTest {
+
+	RemoteCallCounter counter = new RemoteCallCounter();
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setUp() {
+		counter.bindTo(registry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void testCallsAreRecordedPerRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		counter.apply(template(RemoteCallGuard.AUTH));
+		counter.apply(template(RemoteCallGuard.PRODUCT));
+		counter.requestDestroyed(new ServletRequestEvent(request.getServletContext(), request));
+
+		DistributionSummary perRequest = registry.get("service.remote.calls.per.request").summary();
+		assertEquals(1, perRequest.count());
+		assertEquals(2, perRequest.totalAmount());
+		assertEquals(1, registry.get("service.remote.calls").tag("client", RemoteCallGuard.AUTH).functionCounter()
+				.count());
+	}
+
+	@Test
+	void testRequestsWithoutCallsRecordZero() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		counter.requestDestroyed(new ServletRequestEvent(request.getServletContext(), request));
+
+		DistributionSummary perRequest = registry.get("service.remote.calls.per.request").summary();
+		assertEquals(1, perRequest.count());
+		assertEquals(0, perRequest.totalAmount());
+	}
+
+	private static RequestTemplate template(String client) {
+		RequestTemplate template = new RequestTemplate();
+		template.feignTarget(new Target.HardCodedTarget<>(ProductClient.class, client, "http://localhost"));
+		return template;
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.cognizant.service.client;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.cognizant.service.exception.ServiceUnavailableException;
+
+public class RemoteCallExecutorTest {
+
+	RemoteCallExecutor executor = new RemoteCallExecutor();
+
+	@BeforeEach
+	void setUp() {
+		executor.mode = RemoteCallExecutor.MODE_BOUNDED;
+		executor.poolSize = 1;
+		executor.queueCapacity = 10;
+		executor.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void testCallSeesTheSubmittingRequest() throws ServiceUnavailableException {
+		RequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+		RequestContextHolder.setRequestAttributes(attributes);
+		assertSame(attributes,
+				executor.await(executor.submit(RequestContextHolder::getRequestAttributes), 1000, "test"));
+
+		// The pool thread does not keep the request once the call is done
+		RequestContextHolder.resetRequestAttributes();
+		assertNull(executor.await(executor.submit(RequestContextHolder::getRequestAttributes), 1000, "test"));
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.cognizant.service.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+public class RemoteCallGuardTest {
+
+	RemoteCallGuard guard = new RemoteCallGuard();
+	AtomicInteger remoteCalls = new AtomicInteger();
+	int status = 200;
+	Client client;
+
+	@BeforeEach
+	void setUp() {
+		guard.environment = new MockEnvironment().withProperty("service.resilience.sliding-window-size", "10")
+				.withProperty("service.resilience.minimum-calls", "10");
+		guard.init();
+		Client remote = (request, options) -> {
+			remoteCalls.incrementAndGet();
+			return Response.builder().status(status).request(request).headers(Collections.emptyMap()).build();
+		};
+		client = guard.enrich(remote);
+	}
+
+	@Test
+	void testServerErrorsOpenTheBreaker() throws IOException {
+		status = 503;
+		for (int i = 0; i < 10; i++) {
+			client.execute(request(RemoteCallGuard.PRODUCT), new Request.Options());
+		}
+		assertEquals(guard.breaker(RemoteCallGuard.PRODUCT).getState(), CircuitBreaker.State.OPEN);
+		assertThrows(CallNotPermittedException.class,
+				() -> client.execute(request(RemoteCallGuard.PRODUCT), new Request.Options()));
+		assertEquals(remoteCalls.get(), 10);
+	}
+
+	@Test
+	void testClientErrorsKeepTheBreakerClosed() throws IOException {
+		status = 404;
+		for (int i = 0; i < 20; i++) {
+			client.execute(request(RemoteCallGuard.PRODUCT), new Request.Options());
+		}
+		assertEquals(guard.breaker(RemoteCallGuard.PRODUCT).getState(), CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void testBreakersAreSeparatePerClient() throws IOException {
+		status = 503;
+		for (int i = 0; i < 10; i++) {
+			client.execute(request(RemoteCallGuard.PRODUCT), new Request.Options());
+		}
+		status = 200;
+		client.execute(request(RemoteCallGuard.USER), new Request.Options());
+		assertEquals(guard.breaker(RemoteCallGuard.USER).getState(), CircuitBreaker.State.CLOSED);
+		assertEquals(guard.bulkhead(RemoteCallGuard.USER).getMetrics().getAvailableConcurrentCalls(), 32);
+	}
+
+	private static Request request(String client) {
+		RequestTemplate template = new RequestTemplate();
+		template.feignTarget(new Target.HardCodedTarget<>(ProductClient.class, client, "http://localhost"));
+		return Request.create(Request.HttpMethod.GET, "http://localhost/1", Collections.emptyMap(), null,
+				StandardCharsets.UTF_8, template);
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.cognizant.service.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadWriteRoutingDataSourceTest {
+
+	ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	void testReadOnlyTransactionsUseTheReplica() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertEquals(routing.determineCurrentLookupKey(), ReadWriteRoutingDataSource.REPLICA);
+	}
+
+	@Test
+	void testEverythingElseUsesThePrimary() {
+		assertEquals(routing.determineCurrentLookupKey(), ReadWriteRoutingDataSource.PRIMARY);
+	}
+
+}
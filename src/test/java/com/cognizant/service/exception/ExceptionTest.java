@@ -16,6 +16,7 @@ public class ExceptionTest {
 	RequestNotExistsException requestNotExistsException;
 	ServiceAlreadyProvidedException providedException;
 	UnauthorizedAccessException unauthorizedAccessException;
+	ServiceUnavailableException serviceUnavailableException;
 	
 	@Test
 	void testLoadInvalidDataAccessException() {
@@ -37,5 +38,9 @@ public class ExceptionTest {
 	void testLoadUnauthorizedAccessException() {
 		assertThat(unauthorizedAccessException).isNull();
 	}
+	@Test
+	void testLoadServiceUnavailableException() {
+		assertThat(serviceUnavailableException).isNull();
+	}
 
 }
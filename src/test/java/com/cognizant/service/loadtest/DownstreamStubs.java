@@ -0,0 +1,188 @@
+package com.cognizant.service.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.cognizant.service.dto.AppProduct;
+import com.cognizant.service.dto.ClientResponse;
+import com.cognizant.service.dto.Users;
+import com.cognizant.service.dto.ValidatingDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * JDK HttpServer stand-ins for the auth, user and product microservices, with
+ * injected latency and a configurable share of 503 answers. Tokens encode the
+ * caller: "admin", "tech-{n}" (owns {@code productsPerTechnician} products) or
+ * "user-{id}".
+ */
+public final class DownstreamStubs implements AutoCloseable {
+
+	public static final String ADMIN = "admin";
+	public static final long TECHNICIAN_ID_OFFSET = 1_000_000L;
+
+	private static final String BEARER = "Bearer ";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final long latencyMs;
+	private final long jitterMs;
+	private volatile double errorRate;
+	private final int productsPerTechnician;
+	private final List<HttpServer> servers = new ArrayList<>();
+	private final ExecutorService handlers = Executors.newCachedThreadPool();
+
+	private HttpServer auth;
+	private HttpServer user;
+	private HttpServer product;
+
+	public DownstreamStubs(long latencyMs, long jitterMs, double errorRate, int productsPerTechnician) {
+		this.latencyMs = latencyMs;
+		this.jitterMs = jitterMs;
+		this.errorRate = errorRate;
+		this.productsPerTechnician = productsPerTechnician;
+	}
+
+	public static String technician(int n) {
+		return "tech-" + n;
+	}
+
+	public static String customer(long userId) {
+		return "user-" + userId;
+	}
+
+	public static int technicianOf(long productId, int productsPerTechnician) {
+		return (int) ((productId - 1) / productsPerTechnician) + 1;
+	}
+
+	/**
+	 * Starts the three servers. Port 0 picks free ports, otherwise the ports the
+	 * Feign clients default to can be used so an external service needs no
+	 * configuration.
+	 */
+	public DownstreamStubs start(int authPort, int userPort, int productPort) throws IOException {
+		auth = server(authPort);
+		auth.createContext("/validate", exchange -> respond(exchange, validate(token(exchange))));
+		user = server(userPort);
+		user.createContext("/user/me", exchange -> respond(exchange, currentUser(token(exchange))));
+		product = server(productPort);
+		product.createContext("/product", this::product);
+		servers.forEach(HttpServer::start);
+		return this;
+	}
+
+	public void errorRate(double errorRate) {
+		this.errorRate = errorRate;
+	}
+
+	public String authUrl() {
+		return "http://localhost:" + auth.getAddress().getPort();
+	}
+
+	public String userUrl() {
+		return "http://localhost:" + user.getAddress().getPort() + "/user";
+	}
+
+	public String productUrl() {
+		return "http://localhost:" + product.getAddress().getPort() + "/product";
+	}
+
+	@Override
+	public void close() {
+		servers.forEach(server -> server.stop(0));
+		handlers.shutdownNow();
+	}
+
+	private HttpServer server(int port) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+		server.setExecutor(handlers);
+		servers.add(server);
+		return server;
+	}
+
+	private void product(HttpExchange exchange) throws IOException {
+		String token = token(exchange);
+		String path = exchange.getRequestURI().getPath();
+		if (path.endsWith("/my-products")) {
+			respond(exchange, new ClientResponse<>(200, "DATA_FOUND", ownedProducts(token)));
+			return;
+		}
+		long id = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+		respond(exchange, new ClientResponse<>(200, "DATA_FOUND", product(id)));
+	}
+
+	private ValidatingDTO validate(String token) {
+		return new ValidatingDTO(true, ADMIN.equals(token) ? "ROLE_ADMIN" : "ROLE_USER", token + "@test.com");
+	}
+
+	private ClientResponse<Users> currentUser(String token) {
+		long id;
+		if (token.startsWith("user-")) {
+			id = Long.parseLong(token.substring(5));
+		} else if (token.startsWith("tech-")) {
+			id = TECHNICIAN_ID_OFFSET + Long.parseLong(token.substring(5));
+		} else {
+			id = 0;
+		}
+		return new ClientResponse<>(200, "DATA_FOUND", new Users(id, "User " + id, token + "@test.com",
+				9000000000L + id, new Date(), null, "Other", "ROLE_USER", true));
+	}
+
+	private List<AppProduct> ownedProducts(String token) {
+		if (!token.startsWith("tech-")) {
+			return Collections.emptyList();
+		}
+		int technician = Integer.parseInt(token.substring(5));
+		List<AppProduct> products = new ArrayList<>(productsPerTechnician);
+		for (int i = 1; i <= productsPerTechnician; i++) {
+			products.add(product((long) (technician - 1) * productsPerTechnician + i));
+		}
+		return products;
+	}
+
+	private AppProduct product(long id) {
+		return new AppProduct(id, "Product " + id, "Make", "Model", 1000, new Date(),
+				technician(technicianOf(id, productsPerTechnician)), null);
+	}
+
+	private void respond(HttpExchange exchange, Object body) throws IOException {
+		try {
+			long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+			if (delay > 0) {
+				TimeUnit.MILLISECONDS.sleep(delay);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		int status = 200;
+		Object payload = body;
+		if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+			status = 503;
+			payload = new ClientResponse<>(503, "INJECTED_FAILURE", null);
+		}
+		byte[] bytes = objectMapper.writeValueAsBytes(payload);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static String token(HttpExchange exchange) {
+		String header = exchange.getRequestHeaders().getFirst("Authorization");
+		if (header == null) {
+			return "";
+		}
+		return header.startsWith(BEARER) ? header.substring(BEARER.length()) : header;
+	}
+
+}
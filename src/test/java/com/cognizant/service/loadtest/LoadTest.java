@@ -0,0 +1,556 @@
+package com.cognizant.service.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.cognizant.service.ServiceMicroserviceApplication;
+import com.cognizant.service.dto.AppServiceReqReportDTO;
+import com.cognizant.service.dto.ServiceRequestDTO;
+import com.cognizant.service.model.ServiceType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * End-to-end load test of the /servicereq endpoints. Starts {@link DownstreamStubs}
+ * for auth, user and product, seeds requests and reports through the API and
+ * then drives a weighted traffic mix, printing throughput and p50/p99/p999
+ * latency per endpoint.
+ *
+ * <p>
+ * Run with {@code mvn -Ploadtest -DskipTests verify}. Settings are system
+ * properties passed through {@code -Dloadtest.jvmArgs="..."}, e.g.
+ * {@code -Dloadtest.concurrency=256 -Dloadtest.error-rate=0.05}. Without
+ * {@code loadtest.target} the service runs in-process against stubs on free
+ * ports (Spring properties such as {@code -Dserver.tomcat.threads.max} apply
+ * to it); with a target URL the stubs take the default ports 8001-8003 so an
+ * unconfigured service started separately talks to them.
+ *
+ * <p>
+ * {@code loadtest.rate} switches from a closed loop to a fixed arrival rate in
+ * requests per second; latency is then measured from the scheduled send time so
+ * queueing behind a saturated service is not hidden.
+ */
+public class LoadTest {
+
+	enum Operation {
+		CREATE(10), CREATE_BATCH(1), MY_REQUESTS(20), UPDATE(3), DELETE(1), PRODUCT_REQUESTS(20), REQUESTS_BY_USER(5),
+		ALL_REQUESTS(2), CREATE_REPORT(5), CREATE_REPORT_BATCH(1), REPORTS_BY_USER(3), REPORTS(5), REPORT_BY_ID(5),
+		REPORT_BY_REQUEST(10), SEARCH(3), EXPORT(0);
+
+		private final int defaultWeight;
+
+		Operation(int defaultWeight) {
+			this.defaultWeight = defaultWeight;
+		}
+
+		int weight() {
+			return Integer.getInteger("loadtest.weight." + name().toLowerCase(Locale.ROOT).replace('_', '-'),
+					defaultWeight);
+		}
+	}
+
+	private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 64);
+	private static final int RATE = Integer.getInteger("loadtest.rate", 0);
+	private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+	private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 60);
+	private static final int REQUEST_TIMEOUT_MS = Integer.getInteger("loadtest.request-timeout-ms", 30000);
+	private static final int CUSTOMERS = Integer.getInteger("loadtest.customers", 1000);
+	private static final int TECHNICIANS = Integer.getInteger("loadtest.technicians", 20);
+	private static final int PRODUCTS_PER_TECHNICIAN = Integer.getInteger("loadtest.products-per-technician", 10);
+	private static final int SEED_REQUESTS = Integer.getInteger("loadtest.seed-requests", 5000);
+	private static final long LATENCY_MS = Long.getLong("loadtest.latency-ms", 20);
+	private static final long JITTER_MS = Long.getLong("loadtest.jitter-ms", 10);
+	private static final double ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.error-rate", "0"));
+	private static final String TARGET = System.getProperty("loadtest.target");
+
+	private static final int SEED_BATCH = 50;
+	// Nothing left to report on, the call is not made and not counted
+	private static final int SKIPPED = -1;
+	private static final int SAMPLE_CAPACITY = 1 << 14;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5)).executor(Executors.newCachedThreadPool()).build();
+	private final Operation[] mix;
+	private final String baseUrl;
+
+	// Known data the traffic mix draws from, so calls hit rows the caller is allowed to see
+	private final List<KnownRequest> requests = new ArrayList<>();
+	private final ConcurrentLinkedQueue<KnownRequest> pending = new ConcurrentLinkedQueue<>();
+	private final List<KnownReport> reports = new ArrayList<>();
+
+	private LoadTest(String baseUrl) {
+		this.baseUrl = baseUrl;
+		List<Operation> weighted = new ArrayList<>();
+		for (Operation operation : Operation.values()) {
+			for (int i = 0; i < operation.weight(); i++) {
+				weighted.add(operation);
+			}
+		}
+		if (weighted.isEmpty()) {
+			throw new IllegalArgumentException("All operation weights are zero");
+		}
+		mix = weighted.toArray(new Operation[0]);
+	}
+
+	public static void main(String[] args) throws Exception {
+		// Stubs answer reliably while seeding, failures are injected once the measured run starts
+		try (DownstreamStubs stubs = new DownstreamStubs(LATENCY_MS, JITTER_MS, 0, PRODUCTS_PER_TECHNICIAN)) {
+			ConfigurableApplicationContext context = null;
+			String baseUrl;
+			if (TARGET == null) {
+				stubs.start(0, 0, 0);
+				System.setProperty("spring.devtools.restart.enabled", "false");
+				context = new SpringApplicationBuilder(ServiceMicroserviceApplication.class)
+						.properties("server.port=0", "eureka.client.enabled=false",
+								"service.clients.auth.url=" + stubs.authUrl(),
+								"service.clients.user.url=" + stubs.userUrl(),
+								"service.clients.product.url=" + stubs.productUrl(), "logging.level.root=WARN",
+								"service.logging.sample-rate=0")
+						.run();
+				baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+			} else {
+				stubs.start(8001, 8002, 8003);
+				baseUrl = TARGET;
+			}
+			try {
+				LoadTest loadTest = new LoadTest(baseUrl + "/servicereq");
+				loadTest.seed();
+				stubs.errorRate(ERROR_RATE);
+				loadTest.run();
+			} finally {
+				if (context != null) {
+					context.close();
+				}
+			}
+		}
+	}
+
+	private void seed() throws Exception {
+		long start = System.nanoTime();
+		ExecutorService seeders = Executors.newFixedThreadPool(CONCURRENCY);
+		try {
+			Map<Long, List<ServiceRequestDTO>> byCustomer = new LinkedHashMap<>();
+			for (int i = 0; i < SEED_REQUESTS; i++) {
+				long customer = i % CUSTOMERS + 1;
+				byCustomer.computeIfAbsent(customer, key -> new ArrayList<>()).add(newRequest());
+			}
+			List<Future<?>> calls = new ArrayList<>();
+			for (Map.Entry<Long, List<ServiceRequestDTO>> entry : byCustomer.entrySet()) {
+				List<ServiceRequestDTO> dtos = entry.getValue();
+				for (int from = 0; from < dtos.size(); from += SEED_BATCH) {
+					List<ServiceRequestDTO> chunk = dtos.subList(from, Math.min(dtos.size(), from + SEED_BATCH));
+					calls.add(seeders.submit(() -> createRequests(entry.getKey(), chunk)));
+				}
+			}
+			await(calls);
+
+			// Every other seeded request gets a report from the owning technician
+			if (requests.isEmpty()) {
+				throw new IllegalStateException("No requests could be seeded, is the service reachable at " + baseUrl);
+			}
+			Map<Integer, List<KnownRequest>> byTechnician = new LinkedHashMap<>();
+			for (int i = requests.size() / 2; i > 0; i--) {
+				KnownRequest request = pending.poll();
+				byTechnician.computeIfAbsent(technicianOf(request), key -> new ArrayList<>()).add(request);
+			}
+			calls.clear();
+			for (Map.Entry<Integer, List<KnownRequest>> entry : byTechnician.entrySet()) {
+				List<KnownRequest> owned = entry.getValue();
+				for (int from = 0; from < owned.size(); from += SEED_BATCH) {
+					List<KnownRequest> chunk = owned.subList(from, Math.min(owned.size(), from + SEED_BATCH));
+					calls.add(seeders.submit(() -> createReports(entry.getKey(), chunk)));
+				}
+			}
+			await(calls);
+		} finally {
+			seeders.shutdown();
+		}
+		System.out.printf("Seeded %d requests and %d reports in %d ms%n", requests.size(), reports.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	private void run() throws Exception {
+		System.out.printf("Running %s for %ds after %ds warmup, %d workers%n",
+				RATE > 0 ? RATE + " req/s" : "closed loop", DURATION_SECONDS, WARMUP_SECONDS, CONCURRENCY);
+		long start = System.nanoTime();
+		long measureFrom = start + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+		long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+		ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+		List<Future<Map<Operation, Samples>>> results = new ArrayList<>();
+		for (int worker = 0; worker < CONCURRENCY; worker++) {
+			int offset = worker;
+			results.add(workers.submit(() -> work(offset, start, measureFrom, stopAt)));
+		}
+		Map<Operation, Samples> merged = new EnumMap<>(Operation.class);
+		for (Future<Map<Operation, Samples>> result : results) {
+			result.get().forEach((operation, samples) -> merged
+					.computeIfAbsent(operation, key -> new Samples()).addAll(samples));
+		}
+		workers.shutdown();
+		report(merged, DURATION_SECONDS);
+	}
+
+	private Map<Operation, Samples> work(int worker, long start, long measureFrom, long stopAt) {
+		Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+		long interval = RATE > 0 ? TimeUnit.SECONDS.toNanos(CONCURRENCY) / RATE : 0;
+		long intended = start + (interval * worker) / CONCURRENCY;
+		while (true) {
+			long now = System.nanoTime();
+			if (interval > 0) {
+				if (intended > now) {
+					LockSupport.parkNanos(intended - now);
+				}
+			} else {
+				intended = now;
+			}
+			if (intended >= stopAt) {
+				return samples;
+			}
+			Operation operation = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+			int status = call(operation);
+			long end = System.nanoTime();
+			if (status != SKIPPED && intended >= measureFrom) {
+				samples.computeIfAbsent(operation, key -> new Samples()).add(end - intended, status);
+			}
+			intended += interval;
+		}
+	}
+
+	// Status of the measured call, 0 when it failed without a response
+	private int call(Operation operation) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		try {
+			switch (operation) {
+			case CREATE:
+				return createRequest(random.nextLong(CUSTOMERS) + 1);
+			case CREATE_BATCH: {
+				List<ServiceRequestDTO> dtos = new ArrayList<>();
+				for (int i = 0; i < 5; i++) {
+					dtos.add(newRequest());
+				}
+				return createRequests(random.nextLong(CUSTOMERS) + 1, dtos);
+			}
+			case MY_REQUESTS: {
+				KnownRequest request = knownRequest();
+				return send(get(customer(request), ""));
+			}
+			case UPDATE: {
+				KnownRequest request = knownRequest();
+				return send(json(customer(request), "/" + request.id, "PUT",
+						new ServiceRequestDTO(request.product, "still broken", "updated by load test")));
+			}
+			case DELETE: {
+				// Deletes a request of its own so the shared pools never point at removed rows
+				long customer = random.nextLong(CUSTOMERS) + 1;
+				HttpResponse<String> created = sendForBody(json(DownstreamStubs.customer(customer), "", "POST",
+						newRequest()));
+				if (created.statusCode() != 200) {
+					return created.statusCode();
+				}
+				long id = objectMapper.readTree(created.body()).path("payload").path("id").asLong();
+				return send(request(DownstreamStubs.customer(customer), "/" + id).DELETE().build());
+			}
+			case PRODUCT_REQUESTS:
+				return send(get(technician(knownRequest()), ""));
+			case REQUESTS_BY_USER: {
+				KnownRequest request = knownRequest();
+				return send(get(technician(request), "/" + request.customer));
+			}
+			case ALL_REQUESTS:
+				return send(get(DownstreamStubs.ADMIN, "/all?size=50"));
+			case CREATE_REPORT: {
+				KnownRequest request = pending.poll();
+				if (request == null) {
+					return SKIPPED;
+				}
+				return createReports(technicianOf(request), List.of(request));
+			}
+			case CREATE_REPORT_BATCH: {
+				List<KnownRequest> batch = new ArrayList<>();
+				int technician = 0;
+				for (KnownRequest request = pending.poll(); request != null && batch.size() < 5; request = pending
+						.poll()) {
+					// Batches are per technician, requests of other technicians go back to the queue
+					if (technician == 0 || technicianOf(request) == technician) {
+						technician = technicianOf(request);
+						batch.add(request);
+					} else {
+						pending.add(request);
+						break;
+					}
+				}
+				if (batch.isEmpty()) {
+					return SKIPPED;
+				}
+				return createReports(technician, batch);
+			}
+			case REPORTS_BY_USER: {
+				KnownRequest request = knownRequest();
+				return send(get(technician(request), "/report/userId/" + request.customer));
+			}
+			case REPORTS:
+				return send(get(technician(knownReport().request), "/report?size=50"));
+			case REPORT_BY_ID: {
+				KnownReport report = knownReport();
+				return send(get(technician(report.request), "/report/reportId/" + report.id));
+			}
+			case REPORT_BY_REQUEST: {
+				KnownReport report = knownReport();
+				return send(get(customer(report.request), "/report/requestId/" + report.request.id));
+			}
+			case SEARCH:
+				return send(get(technician(knownRequest()), "/search?q=stopped+working&size=20"));
+			case EXPORT:
+				return send(get(DownstreamStubs.ADMIN, "/export/requests?format=csv"));
+			default:
+				throw new IllegalStateException("Unknown operation " + operation);
+			}
+		} catch (IOException e) {
+			return 0;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return 0;
+		}
+	}
+
+	private int createRequest(long customer) throws IOException, InterruptedException {
+		ServiceRequestDTO dto = newRequest();
+		HttpResponse<String> response = sendForBody(json(DownstreamStubs.customer(customer), "", "POST", dto));
+		if (response.statusCode() == 200) {
+			long id = objectMapper.readTree(response.body()).path("payload").path("id").asLong();
+			remember(new KnownRequest(id, customer, dto.getProductId()));
+		}
+		return response.statusCode();
+	}
+
+	private int createRequests(long customer, List<ServiceRequestDTO> dtos) throws IOException, InterruptedException {
+		HttpResponse<String> response = sendForBody(json(DownstreamStubs.customer(customer), "/batch", "POST", dtos));
+		if (response.statusCode() == 200) {
+			for (JsonNode item : objectMapper.readTree(response.body()).path("payload")) {
+				if (item.hasNonNull("id")) {
+					remember(new KnownRequest(item.get("id").asLong(), customer,
+							dtos.get(item.get("index").asInt()).getProductId()));
+				}
+			}
+		}
+		return response.statusCode();
+	}
+
+	private int createReports(int technician, List<KnownRequest> batch) throws IOException, InterruptedException {
+		List<AppServiceReqReportDTO> dtos = new ArrayList<>(batch.size());
+		for (KnownRequest request : batch) {
+			dtos.add(new AppServiceReqReportDTO(request.id, ServiceType.REPAIR, "Replaced part", "Worn part", true,
+					500, "Part replaced"));
+		}
+		HttpResponse<String> response = sendForBody(
+				json(DownstreamStubs.technician(technician), "/report/batch", "POST", dtos));
+		if (response.statusCode() == 200) {
+			for (JsonNode item : objectMapper.readTree(response.body()).path("payload")) {
+				if (item.hasNonNull("id")) {
+					KnownReport report = new KnownReport(item.get("id").asLong(), batch.get(item.get("index").asInt()));
+					synchronized (reports) {
+						reports.add(report);
+					}
+				}
+			}
+		} else {
+			pending.addAll(batch);
+		}
+		return response.statusCode();
+	}
+
+	private void remember(KnownRequest request) {
+		synchronized (requests) {
+			requests.add(request);
+		}
+		pending.add(request);
+	}
+
+	private KnownRequest knownRequest() {
+		synchronized (requests) {
+			return requests.get(ThreadLocalRandom.current().nextInt(requests.size()));
+		}
+	}
+
+	private KnownReport knownReport() {
+		synchronized (reports) {
+			return reports.get(ThreadLocalRandom.current().nextInt(reports.size()));
+		}
+	}
+
+	private ServiceRequestDTO newRequest() {
+		long product = ThreadLocalRandom.current().nextLong((long) TECHNICIANS * PRODUCTS_PER_TECHNICIAN) + 1;
+		return new ServiceRequestDTO(product, "not working", "stopped working after an update");
+	}
+
+	private static int technicianOf(KnownRequest request) {
+		return DownstreamStubs.technicianOf(request.product, PRODUCTS_PER_TECHNICIAN);
+	}
+
+	private static String technician(KnownRequest request) {
+		return DownstreamStubs.technician(technicianOf(request));
+	}
+
+	private static String customer(KnownRequest request) {
+		return DownstreamStubs.customer(request.customer);
+	}
+
+	private HttpRequest.Builder request(String token, String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofMillis(REQUEST_TIMEOUT_MS))
+				.header("Authorization", "Bearer " + token);
+	}
+
+	private HttpRequest get(String token, String path) {
+		return request(token, path).GET().build();
+	}
+
+	private HttpRequest json(String token, String path, String method, Object body) throws IOException {
+		return request(token, path).header("Content-Type", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))).build();
+	}
+
+	private int send(HttpRequest request) throws IOException, InterruptedException {
+		return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private HttpResponse<String> sendForBody(HttpRequest request) throws IOException, InterruptedException {
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static void await(List<Future<?>> calls) throws Exception {
+		for (Future<?> call : calls) {
+			call.get();
+		}
+	}
+
+	private static void report(Map<Operation, Samples> results, int seconds) {
+		System.out.printf("%n%-20s %9s %9s %8s %9s %9s %9s %9s%n", "operation", "count", "req/s", "errors",
+				"p50 ms", "p99 ms", "p999 ms", "max ms");
+		Samples total = new Samples();
+		for (Map.Entry<Operation, Samples> entry : results.entrySet()) {
+			print(entry.getKey().name(), entry.getValue(), seconds);
+			total.addAll(entry.getValue());
+		}
+		print("TOTAL", total, seconds);
+		System.out.printf("%nStatus codes: %s%n", total.statusCounts());
+	}
+
+	private static void print(String name, Samples samples, int seconds) {
+		long[] sorted = samples.sortedLatencies();
+		System.out.printf("%-20s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f%n", name, sorted.length,
+				(double) sorted.length / seconds, 100.0 * samples.errors() / Math.max(1, sorted.length),
+				millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)), millis(percentile(sorted, 0.999)),
+				millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+	}
+
+	private static long percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, index)];
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	private static final class KnownRequest {
+
+		private final long id;
+		private final long customer;
+		private final long product;
+
+		private KnownRequest(long id, long customer, long product) {
+			this.id = id;
+			this.customer = customer;
+			this.product = product;
+		}
+	}
+
+	private static final class KnownReport {
+
+		private final long id;
+		private final KnownRequest request;
+
+		private KnownReport(long id, KnownRequest request) {
+			this.id = id;
+			this.request = request;
+		}
+	}
+
+	/**
+	 * Raw latencies and statuses of one worker, merged and sorted once the run
+	 * ends so percentiles are exact.
+	 */
+	private static final class Samples {
+
+		private long[] latencies = new long[SAMPLE_CAPACITY];
+		private int[] statuses = new int[SAMPLE_CAPACITY];
+		private int size;
+
+		private void add(long latencyNanos, int status) {
+			if (size == latencies.length) {
+				latencies = Arrays.copyOf(latencies, size * 2);
+				statuses = Arrays.copyOf(statuses, size * 2);
+			}
+			latencies[size] = latencyNanos;
+			statuses[size] = status;
+			size++;
+		}
+
+		private void addAll(Samples other) {
+			for (int i = 0; i < other.size; i++) {
+				add(other.latencies[i], other.statuses[i]);
+			}
+		}
+
+		private long errors() {
+			long errors = 0;
+			for (int i = 0; i < size; i++) {
+				if (statuses[i] == 0 || statuses[i] >= 400) {
+					errors++;
+				}
+			}
+			return errors;
+		}
+
+		private Map<Integer, Integer> statusCounts() {
+			Map<Integer, Integer> counts = new TreeMap<>();
+			for (int i = 0; i < size; i++) {
+				counts.merge(statuses[i], 1, Integer::sum);
+			}
+			return counts;
+		}
+
+		private long[] sortedLatencies() {
+			long[] sorted = Arrays.copyOf(latencies, size);
+			Arrays.sort(sorted);
+			return sorted;
+		}
+	}
+
+}
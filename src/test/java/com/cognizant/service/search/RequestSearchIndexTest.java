@@ -0,0 +1,101 @@
+package com.cognizant.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.cognizant.service.model.AppServiceReqReport;
+import com.cognizant.service.model.CursorPage;
+import com.cognizant.service.model.ServiceRequest;
+import com.cognizant.service.model.ServiceStatus;
+import com.cognizant.service.model.ServiceType;
+import com.cognizant.service.repository.ServiceRequestReportRepository;
+import com.cognizant.service.repository.ServiceRequestRepository;
+
+public class RequestSearchIndexTest {
+
+	RequestSearchIndex index = new RequestSearchIndex();
+
+	@BeforeEach
+	void setUp() throws IOException {
+		index.serviceRequestRepository = mock(ServiceRequestRepository.class);
+		index.reportRepository = mock(ServiceRequestReportRepository.class);
+		index.maxResults = 1000;
+		index.rebuildBatchSize = 100;
+		index.init();
+		// No transaction is active, so these are applied right away
+		index.requestSaved(request(1, 10, 100, "No display", "Screen stays black after boot"), null);
+		index.requestSaved(request(2, 11, 101, "Overheating", "Fan is loud and the display flickers"), null);
+		index.requestSaved(request(3, 12, 102, "Battery drain", "Drains overnight"),
+				new AppServiceReqReport(3, ServiceType.REPAIR, "Replaced", "Overheating battery", true, 10, "New cell"));
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		index.shutdown();
+	}
+
+	@Test
+	void testProblemMatchesRankFirst() throws IOException {
+		assertEquals(Arrays.asList(1L, 2L), ids(index.search("display", 0, 10)));
+	}
+
+	@Test
+	void testReportTextIsSearchedAndStemmed() throws IOException {
+		assertEquals(Arrays.asList(2L, 3L), ids(index.search("overheating", 0, 10)));
+		assertEquals(Collections.singletonList(2L), ids(index.search("flickering", 0, 10)));
+	}
+
+	@Test
+	void testWordsMatchLongerFormsTheStemmerKeepsApart() throws IOException {
+		assertEquals(Arrays.asList(2L, 3L), ids(index.search("overheat", 0, 10)));
+	}
+
+	@Test
+	void testStopWordsMatchNothing() throws IOException {
+		assertEquals(Collections.emptyList(), ids(index.search("with", 0, 10)));
+	}
+
+	@Test
+	void testOwnedSearchOnlySeesMyRequestsAndMyProducts() throws IOException {
+		assertEquals(Arrays.asList(1L, 3L),
+				ids(index.searchOwned("overheating display", 10, Collections.singletonList(102L), 0, 10)));
+		assertEquals(Collections.emptyList(),
+				ids(index.searchOwned("overheating", 99, Collections.emptyList(), 0, 10)));
+	}
+
+	@Test
+	void testPagesCarryTheNextOffset() throws IOException {
+		CursorPage<SearchMatch> first = index.search("display overheating", 0, 2);
+		assertEquals(Long.valueOf(2), first.getNextCursor());
+		CursorPage<SearchMatch> second = index.search("display overheating", 2, 2);
+		assertEquals(1, second.getItems().size());
+		assertNull(second.getNextCursor());
+	}
+
+	@Test
+	void testDeletedRequestsAreNoLongerFound() throws IOException {
+		index.requestDeleted(1);
+		assertEquals(Collections.singletonList(2L), ids(index.search("display", 0, 10)));
+	}
+
+	private static ServiceRequest request(long id, long userId, long productId, String problem, String description) {
+		return new ServiceRequest(id, productId, userId, new Date(), problem, description, ServiceStatus.Pending);
+	}
+
+	private static List<Long> ids(CursorPage<SearchMatch> page) {
+		return page.getItems().stream().map(SearchMatch::getRequestId).collect(Collectors.toList());
+	}
+
+}